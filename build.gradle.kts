@@ -7,9 +7,22 @@ repositories {
     mavenCentral()
 }
 
+// Benchmarks live in their own source set, which is not part of the build
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
 dependencies {
+    annotationProcessor(project(":processor"))
+
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+    "jmhAnnotationProcessor"(project(":processor"))
 }
 
 application {
@@ -19,3 +32,13 @@ application {
 tasks.test {
     useJUnitPlatform()
 }
+
+// Runs the benchmarks with GC profiling, e.g. gradle jmh -Pjmh.args="BenchmarkBindable -p listeners=8"
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks."
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args("-prof", "gc")
+    (findProperty("jmh.args") as String?)?.let { args(it.split(' ').filter(String::isNotBlank)) }
+}
@@ -0,0 +1,296 @@
+package osu.framework.allocation.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates an {@code osu.framework.allocation.IGeneratedInjector} for every
+ * class declaring {@code @Resolved} fields or {@code @BackgroundDependencyLoader}
+ * methods.
+ * <p>
+ * The generated injector lives in the same package as the class and accesses
+ * non-private members directly. Private members are accessed through
+ * {@code static final} method handles, which the JIT treats as constants.
+ * Classes which can't be referenced from a top-level class in their package
+ * (private, local or anonymous classes) are skipped, leaving them to the
+ * reflective injector.
+ */
+@SupportedAnnotationTypes({ InjectorProcessor.RESOLVED, InjectorProcessor.BACKGROUND_DEPENDENCY_LOADER })
+public class InjectorProcessor extends AbstractProcessor {
+    static final String RESOLVED = "osu.framework.allocation.Resolved";
+    static final String BACKGROUND_DEPENDENCY_LOADER = "osu.framework.allocation.BackgroundDependencyLoader";
+
+    /**
+     * The suffix appended to the flattened class name to form the injector name.
+     * Must match the lookup in {@code ClassInjector}.
+     */
+    private static final String INJECTOR_SUFFIX = "_Injector";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, InjectedType> types = new LinkedHashMap<>();
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                Element enclosing = element.getEnclosingElement();
+                if (!(enclosing instanceof TypeElement)) {
+                    continue;
+                }
+
+                InjectedType type = types.computeIfAbsent((TypeElement) enclosing, InjectedType::new);
+                if (element.getKind() == ElementKind.FIELD) {
+                    type.fields.add((VariableElement) element);
+                } else if (element.getKind() == ElementKind.METHOD) {
+                    type.methods.add((ExecutableElement) element);
+                }
+            }
+        }
+
+        for (InjectedType type : types.values()) {
+            if (!isAccessibleFromPackage(type.element)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "Not generating an injector for inaccessible type; reflection will be used.", type.element);
+                continue;
+            }
+
+            try {
+                write(type);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Failed to write injector: " + e.getMessage(), type.element);
+            }
+        }
+
+        // Leave the annotations for any other processors
+        return false;
+    }
+
+    private static boolean isAccessibleFromPackage(TypeElement element) {
+        for (Element e = element; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            TypeElement t = (TypeElement) e;
+            if (t.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void write(InjectedType type) throws IOException {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type.element);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String injectorName = flatName(type.element) + INJECTOR_SUFFIX;
+        String targetName = erasure(type.element.asType());
+
+        StringBuilder handles = new StringBuilder();
+        StringBuilder initialisers = new StringBuilder();
+        StringBuilder fields = new StringBuilder();
+        StringBuilder methods = new StringBuilder();
+
+        int handleCount = 0;
+
+        for (VariableElement field : type.fields) {
+            String name = field.getSimpleName().toString();
+            String fieldType = erasure(field.asType());
+            boolean canBeNull = booleanAttribute(field, RESOLVED, "canBeNull");
+
+            fields.append("        value = dependencies.get(").append(fieldType).append(".class);\n");
+            if (!canBeNull) {
+                fields.append("        if (value == null) {\n")
+                        .append("            throw new RuntimeException(\"Unable to resolve dependency for field: ")
+                        .append(name).append(" of type \" + ").append(fieldType).append(".class.getName());\n")
+                        .append("        }\n");
+            }
+
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                String handle = "HANDLE_" + handleCount++;
+                handles.append("    private static final MethodHandle ").append(handle).append(";\n");
+                initialisers.append("            ").append(handle).append(" = lookup.findSetter(")
+                        .append(targetName).append(".class, \"").append(name).append("\", ")
+                        .append(fieldType).append(".class);\n");
+                fields.append("        try {\n")
+                        .append("            ").append(handle).append(".invokeExact(t, (").append(fieldType)
+                        .append(") value);\n")
+                        .append("        } catch (RuntimeException | Error e) {\n")
+                        .append("            throw e;\n")
+                        .append("        } catch (Throwable e) {\n")
+                        .append("            throw new RuntimeException(\"Failed to inject dependency into field: ")
+                        .append(name).append("\", e);\n")
+                        .append("        }\n");
+            } else {
+                fields.append("        t.").append(name).append(" = (").append(fieldType).append(") value;\n");
+            }
+        }
+
+        for (ExecutableElement method : type.methods) {
+            String name = method.getSimpleName().toString();
+            boolean permitNulls = booleanAttribute(method, BACKGROUND_DEPENDENCY_LOADER, "permitNulls");
+            List<? extends VariableElement> parameters = method.getParameters();
+
+            StringBuilder arguments = new StringBuilder();
+            StringBuilder parameterClasses = new StringBuilder();
+
+            methods.append("        {\n");
+            for (int i = 0; i < parameters.size(); i++) {
+                TypeMirror parameterType = parameters.get(i).asType();
+                String parameterTypeName = erasure(parameterType);
+
+                methods.append("            Object p").append(i).append(" = dependencies.get(")
+                        .append(parameterTypeName).append(".class);\n");
+                if (!permitNulls) {
+                    methods.append("            if (p").append(i).append(" == null) {\n")
+                            .append("                throw new RuntimeException(\"Unable to resolve dependency for parameter ")
+                            .append(i).append(" of method ").append(name).append(" of type ")
+                            .append("\" + ").append(parameterTypeName).append(".class.getName());\n")
+                            .append("            }\n");
+                }
+
+                arguments.append(i == 0 ? "" : ", ").append("(").append(parameterTypeName).append(") p").append(i);
+                parameterClasses.append(", ").append(parameterTypeName).append(".class");
+            }
+
+            methods.append("            try {\n");
+            if (method.getModifiers().contains(Modifier.PRIVATE)) {
+                String handle = "HANDLE_" + handleCount++;
+                String returnType = erasure(method.getReturnType());
+                handles.append("    private static final MethodHandle ").append(handle).append(";\n");
+                initialisers.append("            ").append(handle).append(" = lookup.findVirtual(")
+                        .append(targetName).append(".class, \"").append(name).append("\", MethodType.methodType(")
+                        .append(returnType).append(".class").append(parameterClasses).append("))")
+                        .append(".asType(MethodType.methodType(void.class, ").append(targetName).append(".class")
+                        .append(parameterClasses).append("));\n");
+                methods.append("                ").append(handle).append(".invokeExact(t")
+                        .append(parameters.isEmpty() ? "" : ", ").append(arguments).append(");\n");
+            } else {
+                methods.append("                t.").append(name).append("(").append(arguments).append(");\n");
+            }
+            methods.append("            } catch (RuntimeException | Error e) {\n")
+                    .append("                throw e;\n")
+                    .append("            } catch (Throwable e) {\n")
+                    .append("                throw new RuntimeException(\"Failed to inject dependencies into method: ")
+                    .append(name).append("\", e);\n")
+                    .append("            }\n")
+                    .append("        }\n");
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("import java.lang.invoke.MethodHandle;\n")
+                .append("import java.lang.invoke.MethodHandles;\n")
+                .append("import java.lang.invoke.MethodType;\n")
+                .append("import osu.framework.allocation.DependencyContainer;\n")
+                .append("import osu.framework.allocation.IGeneratedInjector;\n\n")
+                .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("@SuppressWarnings({ \"rawtypes\", \"unchecked\" })\n")
+                .append("public final class ").append(injectorName).append(" implements IGeneratedInjector {\n");
+
+        if (handleCount > 0) {
+            source.append(handles)
+                    .append("\n    static {\n")
+                    .append("        try {\n")
+                    .append("            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(")
+                    .append(targetName).append(".class, MethodHandles.lookup());\n")
+                    .append(initialisers)
+                    .append("        } catch (ReflectiveOperationException e) {\n")
+                    .append("            throw new ExceptionInInitializerError(e);\n")
+                    .append("        }\n")
+                    .append("    }\n\n");
+        }
+
+        source.append("    @Override\n")
+                .append("    public void injectFields(Object target, DependencyContainer dependencies) {\n");
+        if (!type.fields.isEmpty()) {
+            source.append("        ").append(targetName).append(" t = (").append(targetName).append(") target;\n")
+                    .append("        Object value;\n")
+                    .append(fields);
+        }
+        source.append("    }\n\n");
+
+        source.append("    @Override\n")
+                .append("    public void injectMethods(Object target, DependencyContainer dependencies) {\n");
+        if (!type.methods.isEmpty()) {
+            source.append("        ").append(targetName).append(" t = (").append(targetName).append(") target;\n")
+                    .append(methods);
+        }
+        source.append("    }\n")
+                .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? injectorName : packageName + "." + injectorName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type.element).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    /**
+     * The name of a type relative to its package, with nested type names joined
+     * by underscores.
+     */
+    private static String flatName(TypeElement element) {
+        String name = element.getSimpleName().toString();
+        for (Element e = element.getEnclosingElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            name = e.getSimpleName() + "_" + name;
+        }
+        return name;
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private static boolean booleanAttribute(Element element, String annotationName, String attribute) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().toString().equals(annotationName)) {
+                continue;
+            }
+
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues()
+                    .entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+                    return (Boolean) entry.getValue().getValue();
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final class InjectedType {
+        final TypeElement element;
+        final List<VariableElement> fields = new ArrayList<>();
+        final List<ExecutableElement> methods = new ArrayList<>();
+
+        InjectedType(TypeElement element) {
+            this.element = element;
+        }
+    }
+}
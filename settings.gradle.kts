@@ -1 +1,2 @@
 rootProject.name = "osu-framework-java"
+include("processor")
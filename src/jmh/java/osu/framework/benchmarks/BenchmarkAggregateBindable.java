@@ -0,0 +1,74 @@
+package osu.framework.benchmarks;
+
+import osu.framework.bindables.AggregateBindable;
+import osu.framework.bindables.Bindable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recalculating an aggregate after a change to one of its sources, with and
+ * without an inverse function.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkAggregateBindable {
+    @Param({ "2", "16", "256" })
+    public int sources;
+
+    private final List<Bindable<Integer>> folded = new ArrayList<>();
+    private final List<Bindable<Integer>> incremental = new ArrayList<>();
+    private AggregateBindable<Integer> foldedAggregate;
+    private AggregateBindable<Integer> incrementalAggregate;
+    private int index;
+
+    @Setup
+    public void setup() {
+        foldedAggregate = new AggregateBindable<>(Integer::sum, 0);
+        incrementalAggregate = new AggregateBindable<>(Integer::sum, (a, b) -> a - b, 0);
+
+        for (int i = 0; i < sources; i++) {
+            folded.add(new Bindable<>(1));
+            incremental.add(new Bindable<>(1));
+            foldedAggregate.addSource(folded.get(i));
+            incrementalAggregate.addSource(incremental.get(i));
+        }
+    }
+
+    @Benchmark
+    public void changeSourceFolded(Blackhole blackhole) {
+        change(folded);
+        blackhole.consume(foldedAggregate.getResult().getValue());
+    }
+
+    @Benchmark
+    public void changeSourceIncremental(Blackhole blackhole) {
+        change(incremental);
+        blackhole.consume(incrementalAggregate.getResult().getValue());
+    }
+
+    private void change(List<Bindable<Integer>> bindables) {
+        // Flips the source between 1 and 2, values within the Integer cache so
+        // that boxing does not allocate
+        Bindable<Integer> source = bindables.get(index);
+        source.setValue(3 - source.getValue());
+        index = (index + 1) % bindables.size();
+    }
+}
@@ -0,0 +1,63 @@
+package osu.framework.benchmarks;
+
+import osu.framework.bindables.Bindable;
+import osu.framework.bindables.BindableInt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Value changes of a single bindable with listeners. Steady state changes
+ * should not allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkBindable {
+    @Param({ "0", "1", "8", "64" })
+    public int listeners;
+
+    private final Object first = new Object();
+    private final Object second = new Object();
+
+    private Bindable<Object> bindable;
+    private BindableInt bindableInt;
+    private boolean toggle;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        bindable = new Bindable<>(first);
+        bindableInt = new BindableInt();
+
+        for (int i = 0; i < listeners; i++) {
+            bindable.bindValueChanged(e -> blackhole.consume(e.getNewValue()), false);
+            bindableInt.bindIntValueChanged((previous, value) -> blackhole.consume(value), false);
+        }
+    }
+
+    @Benchmark
+    public void setValue() {
+        toggle = !toggle;
+        bindable.setValue(toggle ? second : first);
+    }
+
+    @Benchmark
+    public void setIntValue() {
+        toggle = !toggle;
+        bindableInt.setIntValue(toggle ? 1 : 0);
+    }
+}
@@ -0,0 +1,80 @@
+package osu.framework.benchmarks;
+
+import osu.framework.bindables.Bindable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Propagating a value change through a graph of bound bindables.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkBindablePropagation {
+    /**
+     * How the bindables are bound: each to the previous one, all to the first
+     * one, or each to the previous one and to the one halfway back.
+     */
+    @Param({ "chain", "star", "mesh" })
+    public String topology;
+
+    @Param({ "10", "1000", "10000" })
+    public int bindings;
+
+    private final Object first = new Object();
+    private final Object second = new Object();
+
+    private Bindable<Object> root;
+    private boolean toggle;
+
+    @Setup
+    public void setup() {
+        List<Bindable<Object>> bindables = new ArrayList<>();
+        for (int i = 0; i < bindings; i++) {
+            bindables.add(new Bindable<>(first));
+        }
+
+        for (int i = 1; i < bindings; i++) {
+            switch (topology) {
+                case "chain":
+                    bindables.get(i).bindTo(bindables.get(i - 1));
+                    break;
+                case "star":
+                    bindables.get(i).bindTo(bindables.get(0));
+                    break;
+                case "mesh":
+                    bindables.get(i).bindTo(bindables.get(i - 1));
+                    if (i / 2 != i - 1) {
+                        bindables.get(i).bindTo(bindables.get(i / 2));
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown topology " + topology);
+            }
+        }
+
+        root = bindables.get(0);
+    }
+
+    @Benchmark
+    public void propagate() {
+        toggle = !toggle;
+        root.setValue(toggle ? second : first);
+    }
+}
@@ -0,0 +1,92 @@
+package osu.framework.benchmarks;
+
+import osu.framework.graphics.Drawable;
+import osu.framework.graphics.containers.Container;
+import osu.framework.graphics.shapes.Box;
+import osu.framework.timing.FramedClock;
+import osu.framework.timing.ManualClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Updating a drawable hierarchy, shaped as a wide container of boxes, a deep
+ * chain of containers, or a balanced tree of containers eight wide.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkCompositeDrawableUpdate {
+    private static final int BALANCED_WIDTH = 8;
+
+    @Param({ "wide", "deep", "balanced" })
+    public String shape;
+
+    @Param({ "100", "1000", "5000" })
+    public int drawables;
+
+    private final ManualClock clock = new ManualClock();
+    private Container root;
+
+    @Setup
+    public void setup() {
+        root = new Container();
+        root.setClock(new FramedClock(clock));
+
+        switch (shape) {
+            case "wide":
+                for (int i = 1; i < drawables; i++) {
+                    root.add(new Box());
+                }
+                break;
+            case "deep":
+                Container parent = root;
+                for (int i = 1; i < drawables; i++) {
+                    Container child = new Container();
+                    parent.add(child);
+                    parent = child;
+                }
+                break;
+            case "balanced":
+                List<Container> level = new ArrayList<>();
+                level.add(root);
+                int count = 1;
+                while (count < drawables) {
+                    List<Container> next = new ArrayList<>();
+                    for (Container container : level) {
+                        for (int i = 0; i < BALANCED_WIDTH && count < drawables; i++, count++) {
+                            Container child = new Container();
+                            container.add(child);
+                            next.add(child);
+                        }
+                    }
+                    level = next;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+    }
+
+    @Benchmark
+    public Drawable update() {
+        clock.setCurrentTime(clock.getCurrentTime() + 1000.0 / 60);
+        root.Update();
+        return root;
+    }
+}
@@ -0,0 +1,122 @@
+package osu.framework.benchmarks;
+
+import osu.framework.allocation.BackgroundDependencyLoader;
+import osu.framework.allocation.DependencyActivator;
+import osu.framework.allocation.DependencyContainer;
+import osu.framework.allocation.Resolved;
+import osu.framework.threading.Scheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Injecting dependencies into an instance through a generated injector,
+ * through the method handle fallback used when no injector was generated, and
+ * through per-instance reflection as done before injectors were cached.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkDependencyActivator {
+    private DependencyContainer dependencies;
+
+    private final GeneratedTarget generated = new GeneratedTarget();
+    private final HandleTarget handle = new HandleTarget();
+
+    @Setup
+    public void setup() {
+        dependencies = new DependencyContainer();
+        dependencies.cacheAs(Scheduler.class, new Scheduler());
+        dependencies.cacheAs(String.class, "dependency");
+        dependencies.freeze();
+    }
+
+    @Benchmark
+    public GeneratedTarget generated() {
+        DependencyActivator.activate(generated, dependencies);
+        return generated;
+    }
+
+    @Benchmark
+    public Object methodHandles() {
+        DependencyActivator.activate(handle, dependencies);
+        return handle;
+    }
+
+    @Benchmark
+    public GeneratedTarget reflection() throws ReflectiveOperationException {
+        activateReflectively(generated, dependencies);
+        return generated;
+    }
+
+    public static class GeneratedBase {
+        @Resolved
+        Scheduler scheduler;
+    }
+
+    public static class GeneratedTarget extends GeneratedBase {
+        @Resolved
+        private String name;
+
+        int loads;
+
+        @BackgroundDependencyLoader
+        private void load(Scheduler scheduler, String name) {
+            loads++;
+        }
+    }
+
+    // Private, so the annotation processor does not generate an injector for it
+    private static class HandleTarget extends GeneratedBase {
+        @Resolved
+        private String name;
+
+        int loads;
+
+        @BackgroundDependencyLoader
+        private void load(Scheduler scheduler, String name) {
+            loads++;
+        }
+    }
+
+    private static void activateReflectively(Object target, DependencyContainer dependencies)
+            throws ReflectiveOperationException {
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Resolved.class)) {
+                    field.setAccessible(true);
+                    field.set(target, dependencies.get(field.getType()));
+                }
+            }
+        }
+
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(BackgroundDependencyLoader.class)) {
+                    Class<?>[] parameterTypes = method.getParameterTypes();
+                    Object[] parameters = new Object[parameterTypes.length];
+                    for (int i = 0; i < parameterTypes.length; i++) {
+                        parameters[i] = dependencies.get(parameterTypes[i]);
+                    }
+
+                    method.setAccessible(true);
+                    method.invoke(target, parameters);
+                }
+            }
+        }
+    }
+}
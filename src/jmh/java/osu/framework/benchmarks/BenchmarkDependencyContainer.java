@@ -0,0 +1,78 @@
+package osu.framework.benchmarks;
+
+import osu.framework.allocation.CacheInfo;
+import osu.framework.allocation.DependencyContainer;
+import osu.framework.threading.Scheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking up a dependency cached at the root of a chain of containers, from
+ * the innermost one. Lookups should not allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkDependencyContainer {
+    @Param({ "1", "4", "16" })
+    public int depth;
+
+    /**
+     * Whether the containers are frozen, which lets lookups be memoized
+     * permanently.
+     */
+    @Param({ "true", "false" })
+    public boolean frozen;
+
+    private final CacheInfo named = new CacheInfo("named", null);
+
+    private DependencyContainer leaf;
+
+    @Setup
+    public void setup() {
+        DependencyContainer root = new DependencyContainer();
+        root.cacheAs(Scheduler.class, new Scheduler());
+        root.cacheAs(Scheduler.class, new Scheduler(), named);
+
+        leaf = root;
+        for (int i = 1; i < depth; i++) {
+            if (frozen) {
+                leaf.freeze();
+            }
+            leaf = new DependencyContainer(leaf);
+        }
+
+        if (frozen) {
+            leaf.freeze();
+        }
+    }
+
+    @Benchmark
+    public Object get() {
+        return leaf.get(Scheduler.class);
+    }
+
+    @Benchmark
+    public Object getNamed() {
+        return leaf.get(Scheduler.class, named);
+    }
+
+    @Benchmark
+    public Object getMissing() {
+        return leaf.get(String.class);
+    }
+}
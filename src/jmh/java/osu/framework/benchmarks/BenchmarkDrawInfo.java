@@ -0,0 +1,97 @@
+package osu.framework.benchmarks;
+
+import osu.framework.graphics.Anchor;
+import osu.framework.graphics.Drawable;
+import osu.framework.graphics.containers.Container;
+import osu.framework.graphics.shapes.Box;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retrieving the screen-space quads of a tree of containers eight wide, when
+ * nothing has changed, when one leaf has moved, and when the root has moved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkDrawInfo {
+    private static final int WIDTH = 8;
+
+    @Param({ "100", "1000", "5000" })
+    public int drawables;
+
+    private final List<Drawable> all = new ArrayList<>();
+    private Container root;
+    private Drawable leaf;
+    private float offset;
+
+    @Setup
+    public void setup() {
+        root = new Container();
+        root.setSize(1024, 768);
+        all.add(root);
+
+        List<Container> level = new ArrayList<>();
+        level.add(root);
+        while (all.size() < drawables) {
+            List<Container> next = new ArrayList<>();
+            for (Container container : level) {
+                for (int i = 0; i < WIDTH && all.size() < drawables; i++) {
+                    Container child = new Container();
+                    child.setAnchor(Anchor.Centre);
+                    child.setOrigin(Anchor.Centre);
+                    child.setSize(64, 64);
+                    child.setRotation(i * 10);
+                    container.add(child);
+                    next.add(child);
+                    all.add(child);
+                }
+            }
+            level = next;
+        }
+
+        leaf = new Box();
+        level.get(0).add(leaf);
+        all.add(leaf);
+    }
+
+    @Benchmark
+    public void unchanged(Blackhole bh) {
+        readAll(bh);
+    }
+
+    @Benchmark
+    public void leafMoved(Blackhole bh) {
+        leaf.setPosition(offset++ % 100, 0);
+        readAll(bh);
+    }
+
+    @Benchmark
+    public void rootMoved(Blackhole bh) {
+        root.setPosition(offset++ % 100, 0);
+        readAll(bh);
+    }
+
+    private void readAll(Blackhole bh) {
+        for (int i = 0; i < all.size(); i++) {
+            bh.consume(all.get(i).getScreenSpaceDrawQuad());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package osu.framework.benchmarks;
+
+import osu.framework.configuration.IniConfigManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Loading and saving an ini config file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkIniConfigManager {
+    @Param({ "8", "32", "128" })
+    public int entries;
+
+    private Path directory;
+    private BenchmarkConfigManager config;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("benchmark-config");
+
+        BenchmarkConfigManager.entryCount = entries;
+        config = new BenchmarkConfigManager(directory);
+        config.save();
+    }
+
+    @TearDown
+    public void teardown() throws IOException {
+        config.close();
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void load() {
+        config.load();
+    }
+
+    @Benchmark
+    public boolean save() {
+        return config.save();
+    }
+
+    public enum BenchmarkSetting {
+        // @formatter:off
+        Setting0, Setting1, Setting2, Setting3, Setting4, Setting5, Setting6, Setting7,
+        Setting8, Setting9, Setting10, Setting11, Setting12, Setting13, Setting14, Setting15,
+        Setting16, Setting17, Setting18, Setting19, Setting20, Setting21, Setting22, Setting23,
+        Setting24, Setting25, Setting26, Setting27, Setting28, Setting29, Setting30, Setting31,
+        Setting32, Setting33, Setting34, Setting35, Setting36, Setting37, Setting38, Setting39,
+        Setting40, Setting41, Setting42, Setting43, Setting44, Setting45, Setting46, Setting47,
+        Setting48, Setting49, Setting50, Setting51, Setting52, Setting53, Setting54, Setting55,
+        Setting56, Setting57, Setting58, Setting59, Setting60, Setting61, Setting62, Setting63,
+        Setting64, Setting65, Setting66, Setting67, Setting68, Setting69, Setting70, Setting71,
+        Setting72, Setting73, Setting74, Setting75, Setting76, Setting77, Setting78, Setting79,
+        Setting80, Setting81, Setting82, Setting83, Setting84, Setting85, Setting86, Setting87,
+        Setting88, Setting89, Setting90, Setting91, Setting92, Setting93, Setting94, Setting95,
+        Setting96, Setting97, Setting98, Setting99, Setting100, Setting101, Setting102, Setting103,
+        Setting104, Setting105, Setting106, Setting107, Setting108, Setting109, Setting110, Setting111,
+        Setting112, Setting113, Setting114, Setting115, Setting116, Setting117, Setting118, Setting119,
+        Setting120, Setting121, Setting122, Setting123, Setting124, Setting125, Setting126, Setting127
+        // @formatter:on
+    }
+
+    private static class BenchmarkConfigManager extends IniConfigManager<BenchmarkSetting> {
+        /**
+         * Read by {@link #initialiseDefaults()}, which runs before the fields of
+         * this class are assigned.
+         */
+        static int entryCount;
+
+        BenchmarkConfigManager(Path storagePath) {
+            super(storagePath);
+        }
+
+        @Override
+        protected void initialiseDefaults() {
+            BenchmarkSetting[] settings = BenchmarkSetting.values();
+            for (int i = 0; i < entryCount; i++) {
+                switch (i % 4) {
+                    case 0:
+                        setDefault(settings[i], i);
+                        break;
+                    case 1:
+                        setDefault(settings[i], i * 0.5);
+                        break;
+                    case 2:
+                        setDefault(settings[i], i % 3 == 0);
+                        break;
+                    default:
+                        setDefault(settings[i], "value" + i);
+                        break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package osu.framework.benchmarks;
+
+import osu.framework.threading.Scheduler;
+import osu.framework.timing.ManualClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Updating a scheduler on a single thread, with nothing to run and with a
+ * batch of tasks, delayed tasks and pooled delegates. Empty updates and pooled
+ * delegates should not allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkScheduler {
+    private static final int BATCH = 1024;
+
+    private final ManualClock clock = new ManualClock();
+    private Scheduler scheduler;
+    private int runs;
+
+    private final Runnable task = () -> runs++;
+
+    @Setup
+    public void setup() {
+        scheduler = new Scheduler(clock);
+    }
+
+    @Benchmark
+    public void updateEmpty() {
+        scheduler.update();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void addAndUpdate() {
+        for (int i = 0; i < BATCH; i++) {
+            scheduler.add(task);
+        }
+        scheduler.update();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void addDelayedAndUpdate() {
+        for (int i = 0; i < BATCH; i++) {
+            int value = i;
+            scheduler.addDelayed(() -> runs += value, 0);
+        }
+        scheduler.update();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void addPooledAndUpdate() {
+        for (int i = 0; i < BATCH; i++) {
+            var delegate = scheduler.obtain(d -> runs += (int) d.long0);
+            delegate.long0 = i;
+            scheduler.addPooled(delegate);
+        }
+        scheduler.update();
+    }
+}
@@ -0,0 +1,97 @@
+package osu.framework.benchmarks;
+
+import osu.framework.threading.Scheduler;
+import osu.framework.timing.ManualClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Posting tasks to a scheduler from 1, 4 and 16 producer threads while a
+ * single thread updates it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkSchedulerContention {
+    /**
+     * The number of tasks each producer may have pending before it waits for the
+     * updating thread, so that the queue cannot grow without bound.
+     */
+    private static final int MAX_PENDING = 1 << 16;
+
+    @State(Scope.Group)
+    public static class SchedulerState {
+        final Scheduler scheduler = new Scheduler(new ManualClock());
+    }
+
+    @State(Scope.Thread)
+    public static class ProducerState {
+        final AtomicInteger pending = new AtomicInteger();
+        final Runnable task = pending::decrementAndGet;
+    }
+
+    @Benchmark
+    @Group("producers1")
+    @GroupThreads(1)
+    public void add1(SchedulerState state, ProducerState producer) {
+        add(state, producer);
+    }
+
+    @Benchmark
+    @Group("producers1")
+    @GroupThreads(1)
+    public void update1(SchedulerState state) {
+        state.scheduler.update();
+    }
+
+    @Benchmark
+    @Group("producers4")
+    @GroupThreads(4)
+    public void add4(SchedulerState state, ProducerState producer) {
+        add(state, producer);
+    }
+
+    @Benchmark
+    @Group("producers4")
+    @GroupThreads(1)
+    public void update4(SchedulerState state) {
+        state.scheduler.update();
+    }
+
+    @Benchmark
+    @Group("producers16")
+    @GroupThreads(16)
+    public void add16(SchedulerState state, ProducerState producer) {
+        add(state, producer);
+    }
+
+    @Benchmark
+    @Group("producers16")
+    @GroupThreads(1)
+    public void update16(SchedulerState state) {
+        state.scheduler.update();
+    }
+
+    private static void add(SchedulerState state, ProducerState producer) {
+        while (producer.pending.get() >= MAX_PENDING) {
+            Thread.onSpinWait();
+        }
+
+        producer.pending.incrementAndGet();
+        state.scheduler.add(producer.task);
+    }
+}
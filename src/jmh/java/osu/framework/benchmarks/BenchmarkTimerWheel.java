@@ -0,0 +1,150 @@
+package osu.framework.benchmarks;
+
+import osu.framework.threading.ScheduledDelegate;
+import osu.framework.threading.Scheduler;
+import osu.framework.timing.ManualClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduling delayed tasks and running them as time advances, on the
+ * scheduler's timer wheel versus a locked binary heap like the one it
+ * replaced. A quarter of the tasks are cancelled before they are due.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkTimerWheel {
+    private static final double FRAME_TIME = 1000.0 / 60;
+
+    @Param({ "1000", "10000", "100000" })
+    public int pending;
+
+    /**
+     * The longest delay in milliseconds.
+     */
+    @Param({ "10000" })
+    public double maxDelay;
+
+    private double[] delays;
+    private int runs;
+
+    private final Runnable task = () -> runs++;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        delays = new double[pending];
+        for (int i = 0; i < pending; i++) {
+            delays[i] = random.nextDouble() * maxDelay;
+        }
+    }
+
+    @Benchmark
+    public int wheel() {
+        ManualClock clock = new ManualClock();
+        Scheduler scheduler = new Scheduler(clock);
+        ScheduledDelegate[] delegates = new ScheduledDelegate[pending];
+
+        runs = 0;
+        for (int i = 0; i < pending; i++) {
+            delegates[i] = scheduler.addDelayed(task, delays[i]);
+        }
+        for (int i = 0; i < pending; i += 4) {
+            delegates[i].cancel();
+        }
+
+        for (double time = 0; time <= maxDelay + FRAME_TIME; time += FRAME_TIME) {
+            clock.setCurrentTime(time);
+            scheduler.update();
+        }
+        return runs;
+    }
+
+    @Benchmark
+    public int heap() {
+        HeapScheduler scheduler = new HeapScheduler();
+        HeapTask[] tasks = new HeapTask[pending];
+
+        runs = 0;
+        for (int i = 0; i < pending; i++) {
+            tasks[i] = scheduler.addDelayed(task, delays[i]);
+        }
+        for (int i = 0; i < pending; i += 4) {
+            scheduler.cancel(tasks[i]);
+        }
+
+        for (double time = 0; time <= maxDelay + FRAME_TIME; time += FRAME_TIME) {
+            scheduler.currentTime = time;
+            scheduler.update();
+        }
+        return runs;
+    }
+
+    private static final class HeapTask {
+        final Runnable task;
+        final double executionTime;
+        volatile boolean cancelled;
+
+        HeapTask(Runnable task, double executionTime) {
+            this.task = task;
+            this.executionTime = executionTime;
+        }
+    }
+
+    /**
+     * Delayed tasks in a priority queue ordered by execution time. Cancelled
+     * tasks are skipped when they become due, as removing them is linear.
+     */
+    private static final class HeapScheduler {
+        private final PriorityQueue<HeapTask> timedTasks = new PriorityQueue<>(
+                Comparator.comparingDouble(t -> t.executionTime));
+
+        double currentTime;
+
+        HeapTask addDelayed(Runnable task, double delay) {
+            HeapTask heapTask = new HeapTask(task, currentTime + delay);
+            synchronized (timedTasks) {
+                timedTasks.add(heapTask);
+            }
+            return heapTask;
+        }
+
+        void cancel(HeapTask task) {
+            task.cancelled = true;
+        }
+
+        void update() {
+            while (true) {
+                HeapTask due;
+                synchronized (timedTasks) {
+                    HeapTask next = timedTasks.peek();
+                    if (next == null || next.executionTime > currentTime) {
+                        return;
+                    }
+                    due = timedTasks.poll();
+                }
+                if (!due.cancelled) {
+                    due.task.run();
+                }
+            }
+        }
+    }
+}
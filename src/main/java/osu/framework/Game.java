@@ -1,13 +1,27 @@
 package osu.framework;
 
+import osu.framework.allocation.DependencyContainer;
 import osu.framework.graphics.containers.Container;
+import osu.framework.graphics.DrawFrame;
 import osu.framework.graphics.Drawable;
+import osu.framework.platform.GameHost;
+import osu.framework.statistics.FrameStatistics;
+import osu.framework.statistics.PerformanceCollectionType;
 import osu.framework.threading.Scheduler;
-import java.util.ArrayList;
-import java.util.List;
+import osu.framework.timing.FramedClock;
 
 public class Game extends Container {
-    public Scheduler scheduler = new Scheduler();
+    private final FramedClock clock = new FramedClock();
+
+    public Scheduler scheduler = new Scheduler(clock);
+
+    private GameHost host;
+
+    public Game() {
+        // Processed by the host before each update
+        setClock(clock);
+        processCustomClock = false;
+    }
 
     public void Add(Drawable drawable) {
         add(drawable);
@@ -15,41 +29,67 @@ public class Game extends Container {
 
     @Override
     public void Update() {
+        long start = FrameStatistics.beginSection();
         scheduler.update();
+        FrameStatistics.endSection(PerformanceCollectionType.Scheduler, start);
+
+        start = FrameStatistics.beginSection();
         super.Update();
+        FrameStatistics.endSection(PerformanceCollectionType.Update, start);
+    }
+
+    /**
+     * Copies the drawable hierarchy into a frame to be handed to the draw
+     * thread. Invoked on the update thread after each frame of updates.
+     */
+    public void generateDrawFrame(DrawFrame frame) {
+        long start = FrameStatistics.beginSection();
+        frame.clear();
+        addDrawNodes(frame);
+        FrameStatistics.endSection(PerformanceCollectionType.GenerateDrawNodes, start);
+    }
+
+    /**
+     * Invoked on the draw thread once per draw frame. Must not access the
+     * drawable hierarchy, which is being updated concurrently.
+     *
+     * @param frame The most recent frame generated by the update thread, which
+     *              may be drawn more than once if no new frame is ready.
+     */
+    public void Draw(DrawFrame frame) {
     }
 
     public void Run() {
-        // Simulate load
-        injectDependencies(this);
-
-        // Simulate loop for now
-        long startTime = System.nanoTime();
-        long lastTime = startTime;
-        for (int i = 0; i < 100; i++) { // Run 100 frames
-            long currentTime = System.nanoTime();
-            Time.Elapsed = (currentTime - lastTime) / 1000000.0; // ms
-            Time.Current = (currentTime - startTime) / 1000000.0; // ms
-            lastTime = currentTime;
-            Update();
-            try {
-                Thread.sleep(16); // ~60fps
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
+        Run(new GameHost());
+    }
+
+    /**
+     * Loads this game and runs it on a host until {@link #exit()} is called.
+     */
+    public void Run(GameHost host) {
+        this.host = host;
+        clock.changeSource(host.getUpdateClock());
+
+        DependencyContainer dependencies = new DependencyContainer();
+        dependencies.cacheAs(Game.class, this);
+        dependencies.cacheAs(Scheduler.class, scheduler);
+        dependencies.cacheAs(GameHost.class, host);
+        dependencies.freeze();
+        load(dependencies);
+
+        host.run(this);
+    }
+
+    public GameHost getHost() {
+        return host;
     }
 
-    private void injectDependencies(Object target) {
-        for (java.lang.reflect.Method method : target.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(osu.framework.allocation.BackgroundDependencyLoader.class)) {
-                try {
-                    method.setAccessible(true);
-                    method.invoke(target);
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
+    /**
+     * Stops the host running this game.
+     */
+    public void exit() {
+        if (host != null) {
+            host.exit();
         }
     }
 }
@@ -1,5 +1,12 @@
 package osu.framework;
 
+/**
+ * Global update time, mirroring the clock of the running game.
+ *
+ * @deprecated Read the clock of a drawable or scheduler instead, see
+ *             {@link osu.framework.timing.IFrameBasedClock}.
+ */
+@Deprecated
 public class Time {
     public static double Elapsed;
     public static double Current;
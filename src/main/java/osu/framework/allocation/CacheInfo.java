@@ -6,6 +6,11 @@ import java.util.Objects;
  * Extra information that identifies a cached dependency.
  */
 public class CacheInfo {
+    /**
+     * The default (empty) CacheInfo.
+     */
+    public static final CacheInfo DEFAULT = new CacheInfo();
+
     private final String name;
     private final Object parent;
 
@@ -50,6 +55,13 @@ public class CacheInfo {
         return parent;
     }
 
+    /**
+     * Whether this is equal to the default (empty) CacheInfo.
+     */
+    public boolean isDefault() {
+        return name == null && parent == null;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
@@ -62,12 +74,12 @@ public class CacheInfo {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, parent);
+        return 31 * Objects.hashCode(name) + Objects.hashCode(parent);
     }
 
     @Override
     public String toString() {
-        if (name == null && parent == null) {
+        if (isDefault()) {
             return "CacheInfo(default)";
         }
         return "CacheInfo(name=" + name + ", parent=" + parent + ")";
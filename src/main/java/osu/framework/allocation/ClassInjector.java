@@ -0,0 +1,241 @@
+package osu.framework.allocation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Injects dependencies into instances of a single class.
+ * The class hierarchy is scanned for {@link Resolved} fields and
+ * {@link BackgroundDependencyLoader} methods once. If every class declaring
+ * such members has an {@link IGeneratedInjector} generated at compile time,
+ * those are used. Otherwise the members are bound to {@link MethodHandle}s, so
+ * injecting an instance does no reflective lookups or access checks either
+ * way.
+ */
+final class ClassInjector {
+    private static final MethodType FIELD_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType METHOD_INVOKER_TYPE = MethodType.methodType(void.class, Object.class,
+            Object[].class);
+
+    /**
+     * The suffix of generated injector class names, following the flattened
+     * name of the class they inject into.
+     */
+    private static final String GENERATED_INJECTOR_SUFFIX = "_Injector";
+
+    private final IGeneratedInjector[] generated;
+    private final FieldInjection[] fields;
+    private final MethodInjection[] methods;
+
+    private ClassInjector(IGeneratedInjector[] generated, FieldInjection[] fields, MethodInjection[] methods) {
+        this.generated = generated;
+        this.fields = fields;
+        this.methods = methods;
+    }
+
+    /**
+     * Creates the injector for a class.
+     *
+     * @param type The class to create the injector for.
+     * @return The injector.
+     */
+    static ClassInjector create(Class<?> type) {
+        IGeneratedInjector[] generated = findGeneratedInjectors(type);
+        if (generated != null) {
+            return new ClassInjector(generated, null, null);
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<FieldInjection> fields = new ArrayList<>();
+        List<MethodInjection> methods = new ArrayList<>();
+
+        try {
+            for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    Resolved annotation = field.getAnnotation(Resolved.class);
+                    if (annotation == null) {
+                        continue;
+                    }
+
+                    field.setAccessible(true);
+                    MethodHandle setter = lookup.unreflectSetter(field).asType(FIELD_SETTER_TYPE);
+                    fields.add(new FieldInjection(field.getName(), field.getType(), annotation.canBeNull(), setter));
+                }
+            }
+
+            for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+                for (Method method : clazz.getDeclaredMethods()) {
+                    BackgroundDependencyLoader annotation = method.getAnnotation(BackgroundDependencyLoader.class);
+                    if (annotation == null) {
+                        continue;
+                    }
+
+                    method.setAccessible(true);
+                    Class<?>[] parameterTypes = method.getParameterTypes();
+                    MethodHandle invoker = lookup.unreflect(method)
+                            .asSpreader(Object[].class, parameterTypes.length)
+                            .asType(METHOD_INVOKER_TYPE);
+                    methods.add(new MethodInjection(method.getName(), parameterTypes, annotation.permitNulls(),
+                            invoker));
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Failed to create injector for type: " + type.getName(), e);
+        }
+
+        return new ClassInjector(null, fields.toArray(new FieldInjection[0]),
+                methods.toArray(new MethodInjection[0]));
+    }
+
+    /**
+     * Finds the generated injectors for every class in a hierarchy which
+     * declares injected members.
+     *
+     * @return The injectors, ordered from subclass to superclass, or null if any
+     *         class is missing one.
+     */
+    private static IGeneratedInjector[] findGeneratedInjectors(Class<?> type) {
+        List<IGeneratedInjector> injectors = new ArrayList<>();
+
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+            if (!declaresInjectedMembers(clazz)) {
+                continue;
+            }
+
+            try {
+                Class<?> injectorClass = Class.forName(generatedInjectorName(clazz), true, clazz.getClassLoader());
+                injectors.add((IGeneratedInjector) injectorClass.getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+                return null;
+            }
+        }
+
+        return injectors.toArray(new IGeneratedInjector[0]);
+    }
+
+    private static boolean declaresInjectedMembers(Class<?> clazz) {
+        for (Field field : clazz.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Resolved.class)) {
+                return true;
+            }
+        }
+
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(BackgroundDependencyLoader.class)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String generatedInjectorName(Class<?> clazz) {
+        StringBuilder name = new StringBuilder(clazz.getSimpleName());
+        for (Class<?> outer = clazz.getEnclosingClass(); outer != null; outer = outer.getEnclosingClass()) {
+            name.insert(0, '_').insert(0, outer.getSimpleName());
+        }
+
+        String packageName = clazz.getPackageName();
+        return (packageName.isEmpty() ? "" : packageName + ".") + name + GENERATED_INJECTOR_SUFFIX;
+    }
+
+    /**
+     * Injects dependencies into an instance of the class this injector was
+     * created for.
+     *
+     * @param target       The instance to inject into.
+     * @param dependencies The container to resolve dependencies from.
+     */
+    void inject(Object target, DependencyContainer dependencies) {
+        if (generated != null) {
+            for (IGeneratedInjector injector : generated) {
+                injector.injectFields(target, dependencies);
+            }
+
+            for (IGeneratedInjector injector : generated) {
+                injector.injectMethods(target, dependencies);
+            }
+            return;
+        }
+
+        for (FieldInjection field : fields) {
+            field.inject(target, dependencies);
+        }
+
+        for (MethodInjection method : methods) {
+            method.inject(target, dependencies);
+        }
+    }
+
+    private static final class FieldInjection {
+        private final String name;
+        private final Class<?> type;
+        private final boolean canBeNull;
+        private final MethodHandle setter;
+
+        FieldInjection(String name, Class<?> type, boolean canBeNull, MethodHandle setter) {
+            this.name = name;
+            this.type = type;
+            this.canBeNull = canBeNull;
+            this.setter = setter;
+        }
+
+        void inject(Object target, DependencyContainer dependencies) {
+            Object value = dependencies.get(type);
+            if (value == null && !canBeNull) {
+                throw new RuntimeException("Unable to resolve dependency for field: " + name
+                        + " of type " + type.getName());
+            }
+
+            try {
+                setter.invokeExact(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Failed to inject dependency into field: " + name, e);
+            }
+        }
+    }
+
+    private static final class MethodInjection {
+        private static final Object[] NO_PARAMETERS = new Object[0];
+
+        private final String name;
+        private final Class<?>[] parameterTypes;
+        private final boolean permitNulls;
+        private final MethodHandle invoker;
+
+        MethodInjection(String name, Class<?>[] parameterTypes, boolean permitNulls, MethodHandle invoker) {
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+            this.permitNulls = permitNulls;
+            this.invoker = invoker;
+        }
+
+        void inject(Object target, DependencyContainer dependencies) {
+            Object[] parameters = parameterTypes.length == 0 ? NO_PARAMETERS : new Object[parameterTypes.length];
+
+            for (int i = 0; i < parameterTypes.length; i++) {
+                Object value = dependencies.get(parameterTypes[i]);
+                if (value == null && !permitNulls) {
+                    throw new RuntimeException("Unable to resolve dependency for parameter " + i + " of method "
+                            + name + " of type " + parameterTypes[i].getName());
+                }
+                parameters[i] = value;
+            }
+
+            try {
+                invoker.invokeExact(target, parameters);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Failed to inject dependencies into method: " + name, e);
+            }
+        }
+    }
+}
@@ -1,15 +1,65 @@
 package osu.framework.allocation;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * A hierarchical container of dependencies.
+ * <p>
+ * Lookups are lock-free and may be performed from any number of threads, such
+ * as when loading components in the background. Cached dependencies are
+ * safely published to other threads. Once set up, a container may be
+ * {@link #freeze() frozen}, after which it can no longer be modified and
+ * lookups resolved through its parents no longer need to be revalidated.
+ */
 public class DependencyContainer implements IReadOnlyDependencyContainer {
-    private final Map<CacheKey, Object> cache = new HashMap<>();
-    private final DependencyContainer parent;
+    private static final DependencyContainer[] NO_ANCESTORS = new DependencyContainer[0];
+
+    /**
+     * Marks a type which no ancestor has a dependency for in a
+     * {@link Resolution}.
+     */
+    private static final Object NOT_FOUND = new Object();
+
+    /**
+     * Dependencies cached with the default {@link CacheInfo}, keyed directly on
+     * their type.
+     */
+    private final Map<Class<?>, Object> defaults = new ConcurrentHashMap<>();
+
+    /**
+     * Dependencies cached with a non-default {@link CacheInfo}.
+     */
+    private final Map<CacheKey, Object> cache = new ConcurrentHashMap<>();
+
+    /**
+     * The parent chain, nearest first.
+     */
+    private final DependencyContainer[] ancestors;
+
+    /**
+     * Default lookups resolved from {@link #ancestors}.
+     */
+    private volatile Resolution resolution = new Resolution(-1, false);
+
+    private volatile boolean frozen;
+
+    /**
+     * Incremented whenever this container caches a default dependency,
+     * invalidating the memoized lookups of its descendants. Only written while
+     * synchronized on this container.
+     */
+    private volatile long version;
 
     public DependencyContainer(DependencyContainer parent) {
-        this.parent = parent;
+        if (parent == null) {
+            ancestors = NO_ANCESTORS;
+        } else {
+            ancestors = new DependencyContainer[parent.ancestors.length + 1];
+            ancestors[0] = parent;
+            System.arraycopy(parent.ancestors, 0, ancestors, 1, parent.ancestors.length);
+        }
     }
 
     public DependencyContainer() {
@@ -17,50 +67,183 @@ public class DependencyContainer implements IReadOnlyDependencyContainer {
     }
 
     public <T> void cache(T instance) {
-        cache.put(new CacheKey(instance.getClass(), new CacheInfo()), instance);
+        store(instance.getClass(), instance, null);
     }
 
     public <T> void cacheAs(Class<T> type, T instance) {
-        cache.put(new CacheKey(type, new CacheInfo()), instance);
+        store(type, instance, null);
     }
 
     public <T> void cacheAs(Class<T> type, T instance, CacheInfo info) {
-        cache.put(new CacheKey(type, info), instance);
+        store(type, instance, info);
+    }
+
+    private void store(Class<?> type, Object instance, CacheInfo info) {
+        boolean isDefault = info == null || info.isDefault();
+
+        synchronized (this) {
+            if (frozen) {
+                throw new IllegalStateException("Cannot cache dependencies in a frozen container.");
+            }
+
+            // A null dependency is indistinguishable from a missing one
+            if (isDefault) {
+                if (instance == null) {
+                    defaults.remove(type);
+                } else {
+                    defaults.put(type, instance);
+                }
+
+                // Must be incremented after the write is visible, see getFromAncestors
+                version++;
+            } else {
+                CacheKey key = new CacheKey(type, info);
+                if (instance == null) {
+                    cache.remove(key);
+                } else {
+                    cache.put(key, instance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Prevents any further dependencies from being cached in this container.
+     * Lookups through a chain of frozen containers skip revalidation.
+     */
+    public synchronized void freeze() {
+        frozen = true;
     }
 
+    /**
+     * Whether this container has been frozen.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Retrieves a cached dependency of the specified type with the default
+     * {@link CacheInfo}. This does not allocate.
+     */
     @Override
     public Object get(Class<?> type) {
-        return get(type, new CacheInfo());
+        Object val = defaults.get(type);
+        if (val != null || ancestors.length == 0) {
+            return val;
+        }
+        return getFromAncestors(type);
     }
 
     @Override
     public Object get(Class<?> type, CacheInfo info) {
+        if (info == null || info.isDefault()) {
+            return get(type);
+        }
+
         CacheKey key = new CacheKey(type, info);
         Object val = cache.get(key);
         if (val != null) {
             return val;
         }
-        if (parent != null) {
-            return parent.get(type, info);
+
+        for (DependencyContainer ancestor : ancestors) {
+            val = ancestor.cache.get(key);
+            if (val != null) {
+                return val;
+            }
         }
         return null;
     }
 
+    private Object getFromAncestors(Class<?> type) {
+        Resolution current = resolution;
+
+        if (!current.permanent) {
+            // The versions are read before walking the ancestors, so a value resolved
+            // concurrently with a write is only ever stored in an already outdated resolution
+            long generation = ancestorsGeneration();
+            if (current.generation != generation) {
+                current = new Resolution(generation, ancestorsFrozen());
+                resolution = current;
+            }
+        }
+
+        Object val = current.values.get(type);
+        if (val == null) {
+            val = NOT_FOUND;
+            for (DependencyContainer ancestor : ancestors) {
+                Object found = ancestor.defaults.get(type);
+                if (found != null) {
+                    val = found;
+                    break;
+                }
+            }
+            current.values.putIfAbsent(type, val);
+        }
+
+        return val == NOT_FOUND ? null : val;
+    }
+
+    /**
+     * The sum of the versions of the ancestors. Versions only increase, so this
+     * changes whenever any ancestor caches a default dependency, and is
+     * unaffected by writes to unrelated containers.
+     */
+    private long ancestorsGeneration() {
+        long generation = 0;
+        for (DependencyContainer ancestor : ancestors) {
+            generation += ancestor.version;
+        }
+        return generation;
+    }
+
+    private boolean ancestorsFrozen() {
+        for (DependencyContainer ancestor : ancestors) {
+            if (!ancestor.frozen) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public <T extends IDependencyInjectionCandidate> void inject(T instance) {
         DependencyActivator.activate(instance, this);
     }
 
+    /**
+     * Memoized default lookups from the ancestors of a container.
+     */
+    private static final class Resolution {
+        final long generation;
+
+        /**
+         * Whether all ancestors were frozen when this was created, in which case
+         * it never needs to be invalidated.
+         */
+        final boolean permanent;
+
+        final Map<Class<?>, Object> values = new ConcurrentHashMap<>();
+
+        Resolution(long generation, boolean permanent) {
+            this.generation = generation;
+            this.permanent = permanent;
+        }
+    }
+
     /**
      * Internal key class for cache lookups combining type and CacheInfo.
      */
     private static class CacheKey {
         private final Class<?> type;
         private final CacheInfo info;
+        private final int hashCode;
 
         public CacheKey(Class<?> type, CacheInfo info) {
             this.type = type;
-            this.info = info != null ? info : new CacheInfo();
+            this.info = info != null ? info : CacheInfo.DEFAULT;
+            this.hashCode = 31 * Objects.hashCode(type) + this.info.hashCode();
         }
 
         @Override
@@ -70,12 +253,12 @@ public class DependencyContainer implements IReadOnlyDependencyContainer {
             if (!(obj instanceof CacheKey))
                 return false;
             CacheKey other = (CacheKey) obj;
-            return Objects.equals(type, other.type) && Objects.equals(info, other.info);
+            return type == other.type && info.equals(other.info);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(type, info);
+            return hashCode;
         }
     }
 }
@@ -0,0 +1,26 @@
+package osu.framework.allocation;
+
+/**
+ * Injects dependencies into the members declared by a single class.
+ * Implementations are generated at compile time by the dependency injection
+ * annotation processor, and are preferred by {@link DependencyActivator} over
+ * reflection when present for every class in a hierarchy.
+ */
+public interface IGeneratedInjector {
+    /**
+     * Injects the {@link Resolved} fields declared by the class.
+     *
+     * @param target       The instance to inject into.
+     * @param dependencies The container to resolve dependencies from.
+     */
+    void injectFields(Object target, DependencyContainer dependencies);
+
+    /**
+     * Invokes the {@link BackgroundDependencyLoader} methods declared by the
+     * class.
+     *
+     * @param target       The instance to inject into.
+     * @param dependencies The container to resolve dependencies from.
+     */
+    void injectMethods(Object target, DependencyContainer dependencies);
+}
@@ -16,7 +16,7 @@ public class ReadOnlyDependencyContainerExtensions {
      */
     @SuppressWarnings("unchecked")
     public static <T> T get(IReadOnlyDependencyContainer container, Class<T> type) {
-        return get(container, type, new CacheInfo());
+        return (T) container.get(type);
     }
 
     /**
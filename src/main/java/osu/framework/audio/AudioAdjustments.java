@@ -5,6 +5,8 @@ import osu.framework.bindables.BindableDouble;
 import osu.framework.bindables.BindableNumber;
 import osu.framework.bindables.IBindable;
 
+import java.util.function.BiFunction;
+
 /**
  * Provides adjustable and bindable attributes for an audio component.
  * Aggregates results as an {@link IAggregateAudioAdjustment}.
@@ -25,7 +27,7 @@ public class AudioAdjustments implements IAdjustableAudioComponent {
     public AudioAdjustments() {
         // Initialize volume (0..1, default 1)
         volume = new BindableDouble(1.0);
-        volume.setDefault(1.0);
+        volume.setDefaultValue(1.0);
         volume.setMinValue(0.0);
         volume.setMaxValue(1.0);
 
@@ -36,17 +38,18 @@ public class AudioAdjustments implements IAdjustableAudioComponent {
 
         // Initialize frequency (default 1)
         frequency = new BindableDouble(1.0);
-        frequency.setDefault(1.0);
+        frequency.setDefaultValue(1.0);
 
         // Initialize tempo (default 1)
         tempo = new BindableDouble(1.0);
-        tempo.setDefault(1.0);
+        tempo.setDefaultValue(1.0);
 
         // Create aggregates for each property
         for (AdjustableProperty type : ALL_ADJUSTMENTS) {
             AggregateBindable<Double> aggregate = new AggregateBindable<>(
                     getAggregateFunction(type),
-                    getProperty(type).getUnboundCopy());
+                    getInverseAggregateFunction(type),
+                    getProperty(type).getDefault());
             aggregate.addSource(getProperty(type));
             setAggregate(type, aggregate);
         }
@@ -94,36 +97,36 @@ public class AudioAdjustments implements IAdjustableAudioComponent {
 
     @Override
     public void addAdjustment(AdjustableProperty type, IBindable<Double> adjustBindable) {
-        getAggregate(type).addSource(adjustBindable);
+        getAggregateBindable(type).addSource(adjustBindable);
     }
 
     @Override
     public void removeAdjustment(AdjustableProperty type, IBindable<Double> adjustBindable) {
-        getAggregate(type).removeSource(adjustBindable);
+        getAggregateBindable(type).removeSource(adjustBindable);
     }
 
     @Override
     public void bindAdjustments(IAggregateAudioAdjustment component) {
         for (AdjustableProperty type : ALL_ADJUSTMENTS) {
-            getAggregate(type).addSource(component.getAggregate(type));
+            getAggregateBindable(type).addSource(component.getAggregate(type));
         }
     }
 
     @Override
     public void unbindAdjustments(IAggregateAudioAdjustment component) {
         for (AdjustableProperty type : ALL_ADJUSTMENTS) {
-            getAggregate(type).removeSource(component.getAggregate(type));
+            getAggregateBindable(type).removeSource(component.getAggregate(type));
         }
     }
 
     @Override
     public void removeAllAdjustments(AdjustableProperty type) {
-        AggregateBindable<Double> aggregate = getAggregate(type);
+        AggregateBindable<Double> aggregate = getAggregateBindable(type);
         aggregate.removeAllSources();
         aggregate.addSource(getProperty(type));
     }
 
-    private AggregateBindable<Double> getAggregate(AdjustableProperty type) {
+    private AggregateBindable<Double> getAggregateBindable(AdjustableProperty type) {
         switch (type) {
             case Volume:
                 return volumeAggregate;
@@ -172,7 +175,7 @@ public class AudioAdjustments implements IAdjustableAudioComponent {
         }
     }
 
-    private java.util.function.BiFunction<Double, Double, Double> getAggregateFunction(AdjustableProperty type) {
+    private BiFunction<Double, Double, Double> getAggregateFunction(AdjustableProperty type) {
         switch (type) {
             case Balance:
                 // Balance is additive
@@ -182,4 +185,14 @@ public class AudioAdjustments implements IAdjustableAudioComponent {
                 return (a, b) -> a * b;
         }
     }
+
+    private BiFunction<Double, Double, Double> getInverseAggregateFunction(AdjustableProperty type) {
+        switch (type) {
+            case Balance:
+                return (a, b) -> a - b;
+            default:
+                // A zero factor can't be divided out, so fall back to re-aggregating
+                return (a, b) -> b == 0 ? null : a / b;
+        }
+    }
 }
@@ -1,5 +1,10 @@
 package osu.framework.audio;
 
+import osu.framework.statistics.AudioComponentUpdateEvent;
+import osu.framework.statistics.FrameStatistics;
+import osu.framework.statistics.FrameworkEvents;
+import osu.framework.statistics.StatisticsCounterType;
+
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
@@ -70,9 +75,18 @@ public abstract class AudioComponent implements IUpdateable {
             throw new IllegalStateException("Cannot update disposed audio component");
         }
 
+        AudioComponentUpdateEvent event = FrameworkEvents.AUDIO_UPDATE.isEnabled()
+                ? new AudioComponentUpdateEvent()
+                : null;
+        if (event != null) {
+            event.begin();
+        }
+
         // Process pending actions
+        int actions = 0;
         Runnable action;
         while ((action = pendingActions.poll()) != null) {
+            actions++;
             try {
                 action.run();
             } catch (Exception e) {
@@ -86,6 +100,14 @@ public abstract class AudioComponent implements IUpdateable {
         }
 
         updateChildren();
+
+        if (event != null) {
+            event.component = getClass();
+            event.pendingActions = actions;
+            event.commit();
+        }
+
+        FrameStatistics.increment(StatisticsCounterType.AudioComponentUpdates);
     }
 
     /**
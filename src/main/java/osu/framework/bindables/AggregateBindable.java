@@ -1,29 +1,76 @@
 package osu.framework.bindables;
 
-import java.util.ArrayList;
-import java.util.List;
+import osu.framework.allocation.InvokeOnDisposal;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.function.BiFunction;
 
 /**
  * A bindable which aggregates multiple source bindables using a combining
  * function.
- * 
+ * <p>
+ * When an inverse of the combining function is provided, the aggregate is
+ * maintained incrementally: a change, addition or removal of a single source
+ * is applied to the running aggregate in O(1) rather than re-folding every
+ * source.
+ *
  * @param <T> The type of value.
  */
 public class AggregateBindable<T> {
+    /**
+     * The number of incremental updates after which the aggregate is re-folded
+     * from scratch, to stop floating point error from accumulating. Raised to
+     * the number of sources when there are more, so that re-folding stays O(1)
+     * per update when amortised.
+     */
+    private static final int MAX_INCREMENTAL_UPDATES = 1024;
+
     private final BiFunction<T, T, T> aggregateFunction;
+    private final BiFunction<T, T, T> inverseFunction;
     private final Bindable<T> result;
-    private final List<IBindable<T>> sources = new ArrayList<>();
+    private final Map<IBindable<T>, Source<T>> sources = new IdentityHashMap<>();
+
+    /**
+     * The first and last of the sources, linked in the order they were added.
+     * This is the order they are folded in, so that the result does not depend
+     * on identity hash codes.
+     */
+    private Source<T> firstSource;
+    private Source<T> lastSource;
+
+    private T aggregate;
+    private int aggregatedCount;
+    private int incrementalUpdates;
 
     /**
      * Creates a new aggregate bindable.
-     * 
+     *
      * @param aggregateFunction The function to combine values (e.g., (a, b) -> a *
      *                          b for multiplication).
      * @param initialValue      The initial value for the result.
      */
     public AggregateBindable(BiFunction<T, T, T> aggregateFunction, T initialValue) {
+        this(aggregateFunction, null, initialValue);
+    }
+
+    /**
+     * Creates a new aggregate bindable which is updated incrementally.
+     *
+     * @param aggregateFunction The function to combine values (e.g., (a, b) -> a *
+     *                          b for multiplication).
+     * @param inverseFunction   The function removing a value from an aggregate
+     *                          (e.g., (a, b) -> a / b for multiplication). May
+     *                          return null when the value cannot be removed (e.g.
+     *                          division by zero), in which case the aggregate is
+     *                          re-folded from all sources. If null, the aggregate
+     *                          is always re-folded.
+     * @param initialValue      The initial value for the result.
+     */
+    public AggregateBindable(BiFunction<T, T, T> aggregateFunction, BiFunction<T, T, T> inverseFunction,
+            T initialValue) {
         this.aggregateFunction = aggregateFunction;
+        this.inverseFunction = inverseFunction;
         this.result = new Bindable<>(initialValue);
     }
 
@@ -36,52 +83,179 @@ public class AggregateBindable<T> {
 
     /**
      * Adds a source bindable to aggregate.
-     * 
+     *
      * @param source The source to add.
      */
     public void addSource(IBindable<T> source) {
-        if (sources.contains(source)) {
+        if (sources.containsKey(source)) {
             return;
         }
 
-        sources.add(source);
-        source.bindValueChanged(e -> recalculate(), false);
-        recalculate();
+        Source<T> entry = new Source<>(source);
+        sources.put(source, entry);
+        link(entry);
+        entry.subscription = source.bindValueChanged(e -> onSourceChanged(entry), false);
+
+        include(entry.value);
+        publish();
     }
 
     /**
      * Removes a source bindable.
-     * 
+     *
      * @param source The source to remove.
      */
     public void removeSource(IBindable<T> source) {
-        if (sources.remove(source)) {
-            recalculate();
+        Source<T> entry = sources.remove(source);
+        if (entry == null) {
+            return;
         }
+
+        unlink(entry);
+        entry.unsubscribe();
+        exclude(entry.value);
+        publish();
     }
 
     /**
      * Removes all source bindables.
      */
     public void removeAllSources() {
+        for (Source<T> entry = firstSource; entry != null; entry = entry.next) {
+            entry.unsubscribe();
+        }
+
         sources.clear();
-        recalculate();
+        firstSource = null;
+        lastSource = null;
+        aggregate = null;
+        aggregatedCount = 0;
+        incrementalUpdates = 0;
+        publish();
     }
 
-    private void recalculate() {
-        if (sources.isEmpty()) {
-            result.setValue(result.getDefault());
+    private void onSourceChanged(Source<T> entry) {
+        if (entry.removed) {
+            return;
+        }
+
+        T previousValue = entry.value;
+        entry.value = entry.bindable.getValue();
+
+        // A re-fold already picks up the new value
+        if (!exclude(previousValue)) {
+            include(entry.value);
+        }
+        publish();
+    }
+
+    /**
+     * Folds a value into the running aggregate.
+     */
+    private void include(T value) {
+        if (value == null) {
             return;
         }
 
-        T aggregated = sources.get(0).getValue();
-        for (int i = 1; i < sources.size(); i++) {
-            T sourceValue = sources.get(i).getValue();
-            if (sourceValue != null) {
-                aggregated = aggregateFunction.apply(aggregated, sourceValue);
-            }
+        aggregate = aggregatedCount == 0 ? value : aggregateFunction.apply(aggregate, value);
+        aggregatedCount++;
+    }
+
+    /**
+     * Removes a value from the running aggregate, re-folding all sources if it
+     * cannot be removed incrementally.
+     *
+     * @return Whether the aggregate was re-folded from the current source values.
+     */
+    private boolean exclude(T value) {
+        if (value == null) {
+            return false;
+        }
+
+        if (--aggregatedCount == 0) {
+            aggregate = null;
+            return false;
         }
 
-        result.setValue(aggregated);
+        T excluded = inverseFunction != null
+                && incrementalUpdates < Math.max(MAX_INCREMENTAL_UPDATES, aggregatedCount)
+                ? inverseFunction.apply(aggregate, value)
+                : null;
+
+        if (excluded == null) {
+            recalculate();
+            return true;
+        }
+
+        aggregate = excluded;
+        incrementalUpdates++;
+        return false;
+    }
+
+    /**
+     * Re-folds the aggregate from the current values of all sources.
+     */
+    private void recalculate() {
+        aggregate = null;
+        aggregatedCount = 0;
+        incrementalUpdates = 0;
+
+        for (Source<T> entry = firstSource; entry != null; entry = entry.next) {
+            include(entry.value);
+        }
+    }
+
+    private void link(Source<T> entry) {
+        entry.previous = lastSource;
+        if (lastSource == null) {
+            firstSource = entry;
+        } else {
+            lastSource.next = entry;
+        }
+        lastSource = entry;
+    }
+
+    private void unlink(Source<T> entry) {
+        if (entry.previous == null) {
+            firstSource = entry.next;
+        } else {
+            entry.previous.next = entry.next;
+        }
+        if (entry.next == null) {
+            lastSource = entry.previous;
+        } else {
+            entry.next.previous = entry.previous;
+        }
+        entry.previous = null;
+        entry.next = null;
+    }
+
+    private void publish() {
+        result.setValue(aggregatedCount == 0 ? result.getDefault() : aggregate);
+    }
+
+    /**
+     * A source along with the value last folded into the aggregate for it.
+     */
+    private static final class Source<T> {
+        final IBindable<T> bindable;
+        T value;
+        InvokeOnDisposal subscription;
+        boolean removed;
+
+        // Links in the order sources were added
+        Source<T> previous;
+        Source<T> next;
+
+        Source(IBindable<T> bindable) {
+            this.bindable = bindable;
+            this.value = bindable.getValue();
+        }
+
+        void unsubscribe() {
+            // Still flagged, as a dispatch already in progress may invoke the listener once more
+            removed = true;
+            subscription.close();
+        }
     }
 }
@@ -1,10 +1,14 @@
 package osu.framework.bindables;
 
-import java.lang.ref.WeakReference;
+import osu.framework.allocation.InvokeOnDisposal;
+import osu.framework.statistics.FrameStatistics;
+import osu.framework.statistics.StatisticsCounterType;
+
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Consumer;
 
 /**
@@ -17,11 +21,40 @@ public class Bindable<T> implements IBindable<T> {
     private T defaultValue;
     private boolean disabled;
 
-    private final List<Consumer<ValueChangedEvent<T>>> valueChangedListeners = new ArrayList<>();
+    private static final Consumer<?>[] NO_LISTENERS = new Consumer<?>[0];
+
+    /**
+     * Copy-on-write so dispatch can iterate a stable snapshot without copying.
+     */
+    private volatile Consumer<?>[] valueChangedListeners = NO_LISTENERS;
+    /**
+     * Guards writers of listener arrays, including those of subclasses, and lazy
+     * initialisation. Readers never lock.
+     */
+    final Object writeLock = new Object();
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Bindable, ValueChangedEvent> CACHED_EVENT =
+            AtomicReferenceFieldUpdater.newUpdater(Bindable.class, ValueChangedEvent.class, "cachedEvent");
+
+    /**
+     * Event instance reused across dispatches. Taken atomically (set to null)
+     * while a dispatch is in progress, so re-entrant and concurrent changes fall
+     * back to a fresh instance.
+     */
+    private volatile ValueChangedEvent<T> cachedEvent;
     private final List<Consumer<Boolean>> disabledChangedListeners = new ArrayList<>();
-    private final List<WeakReference<Bindable<T>>> bindings = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * Created on first bind. Holds the references of all bound bindables.
+     */
+    private volatile BindingReference<T> bindingReference;
 
-    private WeakReference<Bindable<T>> weakReferenceInstance;
+    /**
+     * A value adopted during propagation whose listeners are yet to be notified.
+     */
+    private boolean hasPendingValue;
+    private T pendingPreviousValue;
+    private T pendingValue;
 
     /**
      * Creates a new bindable with a default value.
@@ -106,7 +139,7 @@ public class Bindable<T> implements IBindable<T> {
 
     @Override
     public boolean isDefault() {
-        return Objects.equals(value, defaultValue);
+        return Objects.equals(getValue(), defaultValue);
     }
 
     @Override
@@ -122,22 +155,18 @@ public class Bindable<T> implements IBindable<T> {
 
         Bindable<T> other = (Bindable<T>) them;
 
-        // Check if already bound
-        synchronized (bindings) {
-            for (WeakReference<Bindable<T>> ref : bindings) {
-                Bindable<T> bound = ref.get();
-                if (bound == other) {
-                    throw new IllegalArgumentException("An already bound bindable cannot be bound again.");
-                }
-            }
+        BindingReference<T> ours = getBindingReference();
+        BindingReference<T> theirs = other.getBindingReference();
+
+        if (ours.contains(theirs)) {
+            throw new IllegalArgumentException("An already bound bindable cannot be bound again.");
         }
 
         // Copy values from them to us
         other.copyTo(this);
 
-        // Add weak references
-        addWeakReference(other.getWeakReference());
-        other.addWeakReference(getWeakReference());
+        ours.add(theirs);
+        theirs.add(ours);
     }
 
     /**
@@ -146,19 +175,62 @@ public class Bindable<T> implements IBindable<T> {
      * @param them The target to copy to.
      */
     protected void copyTo(Bindable<T> them) {
-        them.value = this.value;
+        them.storeValue(getValue());
         them.defaultValue = this.defaultValue;
         them.disabled = this.disabled;
     }
 
     @Override
-    public void bindValueChanged(Consumer<ValueChangedEvent<T>> onChange, boolean runOnceImmediately) {
-        valueChangedListeners.add(onChange);
+    public InvokeOnDisposal bindValueChanged(Consumer<ValueChangedEvent<T>> onChange, boolean runOnceImmediately) {
+        synchronized (writeLock) {
+            valueChangedListeners = withListener(valueChangedListeners, onChange);
+        }
+
         if (runOnceImmediately) {
-            onChange.accept(new ValueChangedEvent<>(value, value));
+            T current = getValue();
+            onChange.accept(new ValueChangedEvent<>(current, current));
+        }
+
+        return new InvokeOnDisposal(() -> unbindValueChanged(onChange));
+    }
+
+    /**
+     * Unbinds a callback previously bound via
+     * {@link #bindValueChanged(Consumer, boolean)}.
+     * A dispatch already in progress may still invoke it once.
+     * 
+     * @param onChange The callback to unbind.
+     */
+    public void unbindValueChanged(Consumer<ValueChangedEvent<T>> onChange) {
+        synchronized (writeLock) {
+            valueChangedListeners = withoutListener(valueChangedListeners, onChange);
         }
     }
 
+    /**
+     * Copies a listener array with a listener appended.
+     */
+    static <L> L[] withListener(L[] listeners, L listener) {
+        L[] result = Arrays.copyOf(listeners, listeners.length + 1);
+        result[listeners.length] = listener;
+        return result;
+    }
+
+    /**
+     * Copies a listener array without the first occurrence of a listener, or
+     * returns it unchanged if the listener is not in it.
+     */
+    static <L> L[] withoutListener(L[] listeners, L listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                L[] result = Arrays.copyOf(listeners, listeners.length - 1);
+                System.arraycopy(listeners, i + 1, result, i, listeners.length - i - 1);
+                return result;
+            }
+        }
+        return listeners;
+    }
+
     @Override
     public void bindDisabledChanged(Consumer<Boolean> onChange, boolean runOnceImmediately) {
         disabledChangedListeners.add(onChange);
@@ -171,53 +243,201 @@ public class Bindable<T> implements IBindable<T> {
         T beforePropagation = value;
 
         if (propagateToBindings) {
-            synchronized (bindings) {
-                // Clean up dead references and propagate to live ones
-                bindings.removeIf(ref -> {
-                    Bindable<T> bound = ref.get();
-                    if (bound == null)
-                        return true; // Remove dead reference
-                    if (bound == source)
-                        return false; // Skip source
-
-                    bound.value = value;
-                    bound.triggerValueChange(previousValue, this, true);
-                    return false;
-                });
-            }
+            propagateValueChange(source);
         }
 
         if (Objects.equals(beforePropagation, value)) {
-            ValueChangedEvent<T> event = new ValueChangedEvent<>(previousValue, value);
-            for (Consumer<ValueChangedEvent<T>> listener : new ArrayList<>(valueChangedListeners)) {
-                listener.accept(event);
+            notifyValueChanged(previousValue, value);
+        }
+    }
+
+    /**
+     * Pushes the current value of this bindable to all bindables reachable through
+     * its bindings, then notifies their listeners, farthest first.
+     * The bound graph is walked iteratively and each bindable is visited once, so
+     * arbitrarily deep or cyclic graphs are handled in linear time.
+     * 
+     * @param source The bindable the change originated from, which is skipped.
+     */
+    protected void propagateValueChange(Bindable<T> source) {
+        if (bindingReference == null) {
+            return;
+        }
+
+        BindingTraversal traversal = BindingTraversal.collect(this, source);
+        try {
+            int count = traversal.size();
+            for (int i = 0; i < count; i++) {
+                traversal.<T>get(i).adoptValue(this);
+            }
+
+            for (int i = count - 1; i >= 0; i--) {
+                traversal.<T>get(i).notifyAdoptedValue();
             }
+        } finally {
+            traversal.release();
         }
     }
 
+    /**
+     * Adopts the value of a bound bindable which has just changed, without
+     * notifying listeners. The change is remembered so that
+     * {@link #notifyAdoptedValue()} can notify once all bindables in the graph have
+     * been updated.
+     * Subclasses with their own value storage override this to avoid boxing.
+     * 
+     * @param origin The bindable whose value changed.
+     */
+    protected void adoptValue(Bindable<T> origin) {
+        T newValue = origin.getValue();
+        if (Objects.equals(value, newValue)) {
+            return;
+        }
+
+        pendingPreviousValue = value;
+        pendingValue = newValue;
+        hasPendingValue = true;
+        value = newValue;
+    }
+
+    /**
+     * Notifies listeners of a value adopted via {@link #adoptValue(Bindable)}, unless
+     * the value has since been changed again.
+     */
+    protected void notifyAdoptedValue() {
+        if (!hasPendingValue) {
+            return;
+        }
+
+        T previousValue = pendingPreviousValue;
+        T adoptedValue = pendingValue;
+        hasPendingValue = false;
+        pendingPreviousValue = null;
+        pendingValue = null;
+
+        if (Objects.equals(value, adoptedValue)) {
+            notifyValueChanged(previousValue, adoptedValue);
+        }
+    }
+
+    /**
+     * Notifies all value changed listeners of a change.
+     * 
+     * @param previousValue The value before the change.
+     * @param newValue      The value after the change.
+     */
+    @SuppressWarnings("unchecked")
+    protected void notifyValueChanged(T previousValue, T newValue) {
+        Consumer<?>[] listeners = valueChangedListeners;
+        if (listeners.length == 0) {
+            return;
+        }
+
+        if (BindableTransaction.isActive()) {
+            BindableTransaction.defer(this, previousValue);
+            return;
+        }
+
+        ValueChangedEvent<T> event = (ValueChangedEvent<T>) CACHED_EVENT.getAndSet(this, null);
+        if (event == null) {
+            event = new ValueChangedEvent<>(previousValue, newValue);
+        } else {
+            event.set(previousValue, newValue);
+        }
+
+        FrameStatistics.add(StatisticsCounterType.BindableNotifications, listeners.length);
+
+        try {
+            for (Consumer<?> listener : listeners) {
+                ((Consumer<ValueChangedEvent<T>>) listener).accept(event);
+            }
+        } finally {
+            // Don't pin the values in memory while idle
+            event.set(null, null);
+            cachedEvent = event;
+        }
+    }
+
+    /**
+     * Notifies listeners of the net change deferred by a
+     * {@link BindableTransaction}, if the value differs from the one before the
+     * transaction.
+     * Subclasses with their own value storage and listeners override this.
+     * 
+     * @param previousValue The value before the first change in the transaction.
+     */
+    protected void flushDeferredValueChange(T previousValue) {
+        T current = getValue();
+        if (!Objects.equals(previousValue, current)) {
+            notifyValueChanged(previousValue, current);
+        }
+    }
+
+    /**
+     * Whether any {@link ValueChangedEvent} listeners are bound to this bindable.
+     */
+    protected boolean hasValueChangedListeners() {
+        return valueChangedListeners.length != 0;
+    }
+
+    /**
+     * Stores a value without any checks, notifications or propagation.
+     * Subclasses with their own value storage override this.
+     * 
+     * @param value The value to store.
+     */
+    protected void storeValue(T value) {
+        this.value = value;
+    }
+
     protected void triggerDisabledChange(Bindable<T> source, boolean propagateToBindings) {
         boolean beforePropagation = disabled;
 
-        if (propagateToBindings) {
-            synchronized (bindings) {
-                bindings.removeIf(ref -> {
-                    Bindable<T> bound = ref.get();
-                    if (bound == null)
-                        return true;
-                    if (bound == source)
-                        return false;
-
+        if (propagateToBindings && bindingReference != null) {
+            BindingTraversal traversal = BindingTraversal.collect(this, source);
+            try {
+                int count = traversal.size();
+                boolean[] changed = new boolean[count];
+                for (int i = 0; i < count; i++) {
+                    Bindable<T> bound = traversal.get(i);
+                    changed[i] = bound.disabled != disabled;
                     bound.disabled = disabled;
-                    bound.triggerDisabledChange(this, true);
-                    return false;
-                });
+                }
+
+                for (int i = count - 1; i >= 0; i--) {
+                    Bindable<T> bound = traversal.get(i);
+                    if (changed[i] && bound.disabled == disabled) {
+                        bound.notifyDisabledChanged();
+                    }
+                }
+            } finally {
+                traversal.release();
             }
         }
 
         if (beforePropagation == disabled) {
-            for (Consumer<Boolean> listener : new ArrayList<>(disabledChangedListeners)) {
-                listener.accept(disabled);
-            }
+            notifyDisabledChanged();
+        }
+    }
+
+    private void notifyDisabledChanged() {
+        for (Consumer<Boolean> listener : new ArrayList<>(disabledChangedListeners)) {
+            listener.accept(disabled);
+        }
+    }
+
+    /**
+     * Runs an action inside a {@link BindableTransaction}, so that listeners of all
+     * bindables changed by it are notified once, after the action completes.
+     * 
+     * @param action The action performing the changes.
+     */
+    public static void batch(Runnable action) {
+        BindableTransaction transaction = BindableTransaction.begin();
+        try {
+            action.run();
+        } finally {
+            transaction.close();
         }
     }
 
@@ -225,7 +445,7 @@ public class Bindable<T> implements IBindable<T> {
      * Unbinds all event listeners.
      */
     public void unbindEvents() {
-        valueChangedListeners.clear();
+        valueChangedListeners = NO_LISTENERS;
         disabledChangedListeners.clear();
     }
 
@@ -233,18 +453,14 @@ public class Bindable<T> implements IBindable<T> {
      * Unbinds all bound bindables.
      */
     public void unbindBindings() {
-        synchronized (bindings) {
-            List<Bindable<T>> toUnbind = new ArrayList<>();
-            for (WeakReference<Bindable<T>> ref : bindings) {
-                Bindable<T> bound = ref.get();
-                if (bound != null) {
-                    toUnbind.add(bound);
-                }
-            }
+        BindingReference<T> ours = bindingReference;
+        if (ours == null) {
+            return;
+        }
 
-            for (Bindable<T> bound : toUnbind) {
-                unbindFrom(bound);
-            }
+        for (BindingReference<T> ref : ours.getBound()) {
+            ours.remove(ref);
+            ref.remove(ours);
         }
     }
 
@@ -261,8 +477,14 @@ public class Bindable<T> implements IBindable<T> {
         }
 
         Bindable<T> other = (Bindable<T>) them;
-        removeWeakReference(other.getWeakReference());
-        other.removeWeakReference(getWeakReference());
+        BindingReference<T> ours = bindingReference;
+        BindingReference<T> theirs = other.bindingReference;
+        if (ours == null || theirs == null) {
+            return;
+        }
+
+        ours.remove(theirs);
+        theirs.remove(ours);
     }
 
     @Override
@@ -288,27 +510,30 @@ public class Bindable<T> implements IBindable<T> {
         return new Bindable<>();
     }
 
-    private WeakReference<Bindable<T>> getWeakReference() {
-        if (weakReferenceInstance == null) {
-            weakReferenceInstance = new WeakReference<>(this);
-        }
-        return weakReferenceInstance;
+    /**
+     * Gets the binding reference of this bindable, or null if it has never been
+     * bound.
+     */
+    BindingReference<T> peekBindingReference() {
+        return bindingReference;
     }
 
-    private void addWeakReference(WeakReference<Bindable<T>> weakReference) {
-        synchronized (bindings) {
-            bindings.add(weakReference);
+    private BindingReference<T> getBindingReference() {
+        BindingReference<T> ref = bindingReference;
+        if (ref != null) {
+            return ref;
         }
-    }
 
-    private void removeWeakReference(WeakReference<Bindable<T>> weakReference) {
-        synchronized (bindings) {
-            bindings.remove(weakReference);
+        synchronized (writeLock) {
+            if (bindingReference == null) {
+                bindingReference = new BindingReference<>(this);
+            }
+            return bindingReference;
         }
     }
 
     @Override
     public String toString() {
-        return String.valueOf(value);
+        return String.valueOf(getValue());
     }
 }
@@ -1,40 +1,66 @@
 package osu.framework.bindables;
 
+import osu.framework.allocation.InvokeOnDisposal;
+import osu.framework.statistics.FrameStatistics;
+import osu.framework.statistics.StatisticsCounterType;
+
 /**
  * A bindable for double values with min/max/precision constraints.
+ * The value is stored as a primitive, so changes made through
+ * {@link #setDoubleValue(double)} and observed through
+ * {@link #bindDoubleValueChanged(IDoubleValueChangedListener, boolean)} do not
+ * box.
  */
-public class BindableDouble extends Bindable<Double> {
-    private Double minValue;
-    private Double maxValue;
+public class BindableDouble extends BindableNumber<Double> {
+    private double current;
     private Double precision = Double.MIN_VALUE; // Epsilon
 
+    private boolean hasPendingValue;
+    private double pendingPreviousValue;
+    private double pendingValue;
+
+    private static final IDoubleValueChangedListener[] NO_DOUBLE_LISTENERS = new IDoubleValueChangedListener[0];
+
+    /**
+     * Copy-on-write so dispatch iterates a stable snapshot, like the boxed
+     * listeners of {@link Bindable}.
+     */
+    private volatile IDoubleValueChangedListener[] doubleValueChangedListeners = NO_DOUBLE_LISTENERS;
+
     public BindableDouble(double defaultValue) {
         super(defaultValue);
+        this.current = defaultValue;
     }
 
     public BindableDouble() {
-        super(0.0);
+        this(0.0);
     }
 
-    public Double getMinValue() {
-        return minValue;
+    @Override
+    public Double getValue() {
+        return current;
     }
 
-    public void setMinValue(Double minValue) {
-        this.minValue = minValue;
-        if (getValue() != null && minValue != null && getValue() < minValue) {
-            setValue(minValue);
-        }
+    /**
+     * Gets the current value of this bindable without boxing.
+     */
+    public double getDoubleValue() {
+        return current;
     }
 
-    public Double getMaxValue() {
-        return maxValue;
+    @Override
+    public void setMinValue(Double minValue) {
+        super.setMinValue(minValue);
+        if (minValue != null && current < minValue) {
+            setDoubleValue(minValue);
+        }
     }
 
+    @Override
     public void setMaxValue(Double maxValue) {
-        this.maxValue = maxValue;
-        if (getValue() != null && maxValue != null && getValue() > maxValue) {
-            setValue(maxValue);
+        super.setMaxValue(maxValue);
+        if (maxValue != null && current > maxValue) {
+            setDoubleValue(maxValue);
         }
     }
 
@@ -48,35 +74,162 @@ public class BindableDouble extends Bindable<Double> {
         }
         this.precision = precision;
         // Re-apply current value with new precision
-        if (getValue() != null) {
-            setValue(getValue());
-        }
+        setDoubleValue(current);
     }
 
     @Override
     public void setValue(Double value) {
-        if (value != null) {
-            // Apply precision rounding
-            if (precision != null && precision > 0) {
-                value = Math.round(value / precision) * precision;
-            }
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot set a null value on a BindableDouble.");
+        }
+        setDoubleValue(value);
+    }
 
-            // Apply clamping
-            if (minValue != null && value < minValue) {
-                value = minValue;
-            }
-            if (maxValue != null && value > maxValue) {
-                value = maxValue;
-            }
+    /**
+     * Sets the current value of this bindable without boxing.
+     *
+     * @param value The new value.
+     * @throws IllegalStateException if the bindable is disabled.
+     */
+    public void setDoubleValue(double value) {
+        if (isDisabled()) {
+            throw new IllegalStateException("Cannot set value to \"" + value + "\" as bindable is disabled.");
+        }
+
+        // Apply precision rounding (the default epsilon precision means no rounding)
+        if (precision != null && precision > Double.MIN_VALUE) {
+            value = Math.round(value / precision) * precision;
+        }
+
+        // Apply clamping
+        Double minValue = getMinValue();
+        if (minValue != null && value < minValue) {
+            value = minValue;
+        }
+        Double maxValue = getMaxValue();
+        if (maxValue != null && value > maxValue) {
+            value = maxValue;
+        }
+
+        if (Double.compare(current, value) == 0) {
+            return;
         }
-        super.setValue(value);
+
+        double previousValue = current;
+        current = value;
+        triggerDoubleValueChange(previousValue, this, true);
     }
 
     /**
      * Adds a value to the current value.
      */
     public void add(double value) {
-        setValue(getValue() + value);
+        setDoubleValue(current + value);
+    }
+
+    /**
+     * Binds a primitive callback to value changes with the option of running the
+     * bound callback once immediately.
+     *
+     * @param onChange           The action to perform when the value changes.
+     * @param runOnceImmediately Whether the action provided should be run once
+     *                           immediately.
+     * @return A handle which unbinds the callback when closed.
+     */
+    public InvokeOnDisposal bindDoubleValueChanged(IDoubleValueChangedListener onChange, boolean runOnceImmediately) {
+        synchronized (writeLock) {
+            doubleValueChangedListeners = withListener(doubleValueChangedListeners, onChange);
+        }
+        if (runOnceImmediately) {
+            onChange.onValueChanged(current, current);
+        }
+
+        return new InvokeOnDisposal(() -> {
+            synchronized (writeLock) {
+                doubleValueChangedListeners = withoutListener(doubleValueChangedListeners, onChange);
+            }
+        });
+    }
+
+    @Override
+    public void unbindEvents() {
+        super.unbindEvents();
+        doubleValueChangedListeners = NO_DOUBLE_LISTENERS;
+    }
+
+    @Override
+    protected void triggerValueChange(Double previousValue, Bindable<Double> source, boolean propagateToBindings) {
+        triggerDoubleValueChange(previousValue, source, propagateToBindings);
+    }
+
+    private void triggerDoubleValueChange(double previousValue, Bindable<Double> source,
+            boolean propagateToBindings) {
+        double beforePropagation = current;
+
+        if (propagateToBindings) {
+            propagateValueChange(source);
+        }
+
+        if (Double.compare(beforePropagation, current) == 0) {
+            notifyDoubleValueChanged(previousValue, current);
+        }
+    }
+
+    private void notifyDoubleValueChanged(double previousValue, double newValue) {
+        if (BindableTransaction.isActive()) {
+            BindableTransaction.defer(this, previousValue);
+            return;
+        }
+
+        IDoubleValueChangedListener[] listeners = doubleValueChangedListeners;
+        FrameStatistics.add(StatisticsCounterType.BindableNotifications, listeners.length);
+
+        for (IDoubleValueChangedListener listener : listeners) {
+            listener.onValueChanged(previousValue, newValue);
+        }
+
+        // Only box when someone is listening for boxed events
+        if (hasValueChangedListeners()) {
+            notifyValueChanged(previousValue, newValue);
+        }
+    }
+
+    @Override
+    protected void adoptValue(Bindable<Double> origin) {
+        double newValue = origin instanceof BindableDouble ? ((BindableDouble) origin).current : origin.getValue();
+        if (Double.compare(current, newValue) == 0) {
+            return;
+        }
+
+        pendingPreviousValue = current;
+        pendingValue = newValue;
+        hasPendingValue = true;
+        current = newValue;
+    }
+
+    @Override
+    protected void notifyAdoptedValue() {
+        if (!hasPendingValue) {
+            return;
+        }
+
+        hasPendingValue = false;
+        if (Double.compare(current, pendingValue) == 0) {
+            notifyDoubleValueChanged(pendingPreviousValue, pendingValue);
+        }
+    }
+
+    @Override
+    protected void flushDeferredValueChange(Double previousValue) {
+        double previous = previousValue;
+        if (Double.compare(previous, current) != 0) {
+            notifyDoubleValueChanged(previous, current);
+        }
+    }
+
+    @Override
+    protected void storeValue(Double value) {
+        current = value;
     }
 
     @Override
@@ -89,8 +242,6 @@ public class BindableDouble extends Bindable<Double> {
         super.copyTo(them);
         if (them instanceof BindableDouble) {
             BindableDouble other = (BindableDouble) them;
-            other.minValue = this.minValue;
-            other.maxValue = this.maxValue;
             other.precision = this.precision;
         }
     }
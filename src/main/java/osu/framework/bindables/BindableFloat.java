@@ -1,40 +1,66 @@
 package osu.framework.bindables;
 
+import osu.framework.allocation.InvokeOnDisposal;
+import osu.framework.statistics.FrameStatistics;
+import osu.framework.statistics.StatisticsCounterType;
+
 /**
  * A bindable for float values with min/max/precision constraints.
+ * The value is stored as a primitive, so changes made through
+ * {@link #setFloatValue(float)} and observed through
+ * {@link #bindFloatValueChanged(IFloatValueChangedListener, boolean)} do not
+ * box.
  */
-public class BindableFloat extends Bindable<Float> {
-    private Float minValue;
-    private Float maxValue;
+public class BindableFloat extends BindableNumber<Float> {
+    private float current;
     private Float precision = Float.MIN_VALUE; // Epsilon
 
+    private boolean hasPendingValue;
+    private float pendingPreviousValue;
+    private float pendingValue;
+
+    private static final IFloatValueChangedListener[] NO_FLOAT_LISTENERS = new IFloatValueChangedListener[0];
+
+    /**
+     * Copy-on-write so dispatch iterates a stable snapshot, like the boxed
+     * listeners of {@link Bindable}.
+     */
+    private volatile IFloatValueChangedListener[] floatValueChangedListeners = NO_FLOAT_LISTENERS;
+
     public BindableFloat(float defaultValue) {
         super(defaultValue);
+        this.current = defaultValue;
     }
 
     public BindableFloat() {
-        super(0.0f);
+        this(0.0f);
     }
 
-    public Float getMinValue() {
-        return minValue;
+    @Override
+    public Float getValue() {
+        return current;
     }
 
-    public void setMinValue(Float minValue) {
-        this.minValue = minValue;
-        if (getValue() != null && minValue != null && getValue() < minValue) {
-            setValue(minValue);
-        }
+    /**
+     * Gets the current value of this bindable without boxing.
+     */
+    public float getFloatValue() {
+        return current;
     }
 
-    public Float getMaxValue() {
-        return maxValue;
+    @Override
+    public void setMinValue(Float minValue) {
+        super.setMinValue(minValue);
+        if (minValue != null && current < minValue) {
+            setFloatValue(minValue);
+        }
     }
 
+    @Override
     public void setMaxValue(Float maxValue) {
-        this.maxValue = maxValue;
-        if (getValue() != null && maxValue != null && getValue() > maxValue) {
-            setValue(maxValue);
+        super.setMaxValue(maxValue);
+        if (maxValue != null && current > maxValue) {
+            setFloatValue(maxValue);
         }
     }
 
@@ -47,30 +73,163 @@ public class BindableFloat extends Bindable<Float> {
             throw new IllegalArgumentException("Precision must be greater than 0");
         }
         this.precision = precision;
-        if (getValue() != null) {
-            setValue(getValue());
-        }
+        // Re-apply current value with new precision
+        setFloatValue(current);
     }
 
     @Override
     public void setValue(Float value) {
-        if (value != null) {
-            if (precision != null && precision > 0) {
-                value = Math.round(value / precision) * precision;
-            }
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot set a null value on a BindableFloat.");
+        }
+        setFloatValue(value);
+    }
 
-            if (minValue != null && value < minValue) {
-                value = minValue;
-            }
-            if (maxValue != null && value > maxValue) {
-                value = maxValue;
-            }
+    /**
+     * Sets the current value of this bindable without boxing.
+     *
+     * @param value The new value.
+     * @throws IllegalStateException if the bindable is disabled.
+     */
+    public void setFloatValue(float value) {
+        if (isDisabled()) {
+            throw new IllegalStateException("Cannot set value to \"" + value + "\" as bindable is disabled.");
         }
-        super.setValue(value);
+
+        // Apply precision rounding (the default epsilon precision means no rounding)
+        if (precision != null && precision > Float.MIN_VALUE) {
+            value = Math.round(value / precision) * precision;
+        }
+
+        // Apply clamping
+        Float minValue = getMinValue();
+        if (minValue != null && value < minValue) {
+            value = minValue;
+        }
+        Float maxValue = getMaxValue();
+        if (maxValue != null && value > maxValue) {
+            value = maxValue;
+        }
+
+        if (Float.compare(current, value) == 0) {
+            return;
+        }
+
+        float previousValue = current;
+        current = value;
+        triggerFloatValueChange(previousValue, this, true);
     }
 
+    /**
+     * Adds a value to the current value.
+     */
     public void add(float value) {
-        setValue(getValue() + value);
+        setFloatValue(current + value);
+    }
+
+    /**
+     * Binds a primitive callback to value changes with the option of running the
+     * bound callback once immediately.
+     *
+     * @param onChange           The action to perform when the value changes.
+     * @param runOnceImmediately Whether the action provided should be run once
+     *                           immediately.
+     * @return A handle which unbinds the callback when closed.
+     */
+    public InvokeOnDisposal bindFloatValueChanged(IFloatValueChangedListener onChange, boolean runOnceImmediately) {
+        synchronized (writeLock) {
+            floatValueChangedListeners = withListener(floatValueChangedListeners, onChange);
+        }
+        if (runOnceImmediately) {
+            onChange.onValueChanged(current, current);
+        }
+
+        return new InvokeOnDisposal(() -> {
+            synchronized (writeLock) {
+                floatValueChangedListeners = withoutListener(floatValueChangedListeners, onChange);
+            }
+        });
+    }
+
+    @Override
+    public void unbindEvents() {
+        super.unbindEvents();
+        floatValueChangedListeners = NO_FLOAT_LISTENERS;
+    }
+
+    @Override
+    protected void triggerValueChange(Float previousValue, Bindable<Float> source, boolean propagateToBindings) {
+        triggerFloatValueChange(previousValue, source, propagateToBindings);
+    }
+
+    private void triggerFloatValueChange(float previousValue, Bindable<Float> source,
+            boolean propagateToBindings) {
+        float beforePropagation = current;
+
+        if (propagateToBindings) {
+            propagateValueChange(source);
+        }
+
+        if (Float.compare(beforePropagation, current) == 0) {
+            notifyFloatValueChanged(previousValue, current);
+        }
+    }
+
+    private void notifyFloatValueChanged(float previousValue, float newValue) {
+        if (BindableTransaction.isActive()) {
+            BindableTransaction.defer(this, previousValue);
+            return;
+        }
+
+        IFloatValueChangedListener[] listeners = floatValueChangedListeners;
+        FrameStatistics.add(StatisticsCounterType.BindableNotifications, listeners.length);
+
+        for (IFloatValueChangedListener listener : listeners) {
+            listener.onValueChanged(previousValue, newValue);
+        }
+
+        // Only box when someone is listening for boxed events
+        if (hasValueChangedListeners()) {
+            notifyValueChanged(previousValue, newValue);
+        }
+    }
+
+    @Override
+    protected void adoptValue(Bindable<Float> origin) {
+        float newValue = origin instanceof BindableFloat ? ((BindableFloat) origin).current : origin.getValue();
+        if (Float.compare(current, newValue) == 0) {
+            return;
+        }
+
+        pendingPreviousValue = current;
+        pendingValue = newValue;
+        hasPendingValue = true;
+        current = newValue;
+    }
+
+    @Override
+    protected void notifyAdoptedValue() {
+        if (!hasPendingValue) {
+            return;
+        }
+
+        hasPendingValue = false;
+        if (Float.compare(current, pendingValue) == 0) {
+            notifyFloatValueChanged(pendingPreviousValue, pendingValue);
+        }
+    }
+
+    @Override
+    protected void flushDeferredValueChange(Float previousValue) {
+        float previous = previousValue;
+        if (Float.compare(previous, current) != 0) {
+            notifyFloatValueChanged(previous, current);
+        }
+    }
+
+    @Override
+    protected void storeValue(Float value) {
+        current = value;
     }
 
     @Override
@@ -83,8 +242,6 @@ public class BindableFloat extends Bindable<Float> {
         super.copyTo(them);
         if (them instanceof BindableFloat) {
             BindableFloat other = (BindableFloat) them;
-            other.minValue = this.minValue;
-            other.maxValue = this.maxValue;
             other.precision = this.precision;
         }
     }
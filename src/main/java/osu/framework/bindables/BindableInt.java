@@ -1,74 +1,220 @@
 package osu.framework.bindables;
 
+import osu.framework.allocation.InvokeOnDisposal;
+import osu.framework.statistics.FrameStatistics;
+import osu.framework.statistics.StatisticsCounterType;
+
 /**
  * A bindable for integer values with min/max constraints.
+ * The value is stored as a primitive, so changes made through
+ * {@link #setIntValue(int)} and observed through
+ * {@link #bindIntValueChanged(IIntValueChangedListener, boolean)} do not
+ * box.
  */
-public class BindableInt extends Bindable<Integer> {
-    private Integer minValue;
-    private Integer maxValue;
+public class BindableInt extends BindableNumber<Integer> {
+    private int current;
+
+    private boolean hasPendingValue;
+    private int pendingPreviousValue;
+    private int pendingValue;
+
+    private static final IIntValueChangedListener[] NO_INT_LISTENERS = new IIntValueChangedListener[0];
+
+    /**
+     * Copy-on-write so dispatch iterates a stable snapshot, like the boxed
+     * listeners of {@link Bindable}.
+     */
+    private volatile IIntValueChangedListener[] intValueChangedListeners = NO_INT_LISTENERS;
 
     public BindableInt(int defaultValue) {
         super(defaultValue);
+        this.current = defaultValue;
     }
 
     public BindableInt() {
-        super(0);
+        this(0);
     }
 
-    public Integer getMinValue() {
-        return minValue;
+    @Override
+    public Integer getValue() {
+        return current;
     }
 
-    public void setMinValue(Integer minValue) {
-        this.minValue = minValue;
-        if (getValue() != null && minValue != null && getValue() < minValue) {
-            setValue(minValue);
-        }
+    /**
+     * Gets the current value of this bindable without boxing.
+     */
+    public int getIntValue() {
+        return current;
     }
 
-    public Integer getMaxValue() {
-        return maxValue;
+    @Override
+    public void setMinValue(Integer minValue) {
+        super.setMinValue(minValue);
+        if (minValue != null && current < minValue) {
+            setIntValue(minValue);
+        }
     }
 
+    @Override
     public void setMaxValue(Integer maxValue) {
-        this.maxValue = maxValue;
-        if (getValue() != null && maxValue != null && getValue() > maxValue) {
-            setValue(maxValue);
+        super.setMaxValue(maxValue);
+        if (maxValue != null && current > maxValue) {
+            setIntValue(maxValue);
         }
     }
 
     @Override
     public void setValue(Integer value) {
-        if (value != null) {
-            if (minValue != null && value < minValue) {
-                value = minValue;
-            }
-            if (maxValue != null && value > maxValue) {
-                value = maxValue;
-            }
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot set a null value on a BindableInt.");
         }
-        super.setValue(value);
+        setIntValue(value);
+    }
+
+    /**
+     * Sets the current value of this bindable without boxing.
+     *
+     * @param value The new value.
+     * @throws IllegalStateException if the bindable is disabled.
+     */
+    public void setIntValue(int value) {
+        if (isDisabled()) {
+            throw new IllegalStateException("Cannot set value to \"" + value + "\" as bindable is disabled.");
+        }
+
+        // Apply clamping
+        Integer minValue = getMinValue();
+        if (minValue != null && value < minValue) {
+            value = minValue;
+        }
+        Integer maxValue = getMaxValue();
+        if (maxValue != null && value > maxValue) {
+            value = maxValue;
+        }
+
+        if (current == value) {
+            return;
+        }
+
+        int previousValue = current;
+        current = value;
+        triggerIntValueChange(previousValue, this, true);
     }
 
     /**
      * Adds a value to the current value.
      */
     public void add(int value) {
-        setValue(getValue() + value);
+        setIntValue(current + value);
+    }
+
+    /**
+     * Binds a primitive callback to value changes with the option of running the
+     * bound callback once immediately.
+     *
+     * @param onChange           The action to perform when the value changes.
+     * @param runOnceImmediately Whether the action provided should be run once
+     *                           immediately.
+     * @return A handle which unbinds the callback when closed.
+     */
+    public InvokeOnDisposal bindIntValueChanged(IIntValueChangedListener onChange, boolean runOnceImmediately) {
+        synchronized (writeLock) {
+            intValueChangedListeners = withListener(intValueChangedListeners, onChange);
+        }
+        if (runOnceImmediately) {
+            onChange.onValueChanged(current, current);
+        }
+
+        return new InvokeOnDisposal(() -> {
+            synchronized (writeLock) {
+                intValueChangedListeners = withoutListener(intValueChangedListeners, onChange);
+            }
+        });
     }
 
     @Override
-    protected Bindable<Integer> createInstance() {
-        return new BindableInt();
+    public void unbindEvents() {
+        super.unbindEvents();
+        intValueChangedListeners = NO_INT_LISTENERS;
     }
 
     @Override
-    protected void copyTo(Bindable<Integer> them) {
-        super.copyTo(them);
-        if (them instanceof BindableInt) {
-            BindableInt other = (BindableInt) them;
-            other.minValue = this.minValue;
-            other.maxValue = this.maxValue;
+    protected void triggerValueChange(Integer previousValue, Bindable<Integer> source, boolean propagateToBindings) {
+        triggerIntValueChange(previousValue, source, propagateToBindings);
+    }
+
+    private void triggerIntValueChange(int previousValue, Bindable<Integer> source,
+            boolean propagateToBindings) {
+        int beforePropagation = current;
+
+        if (propagateToBindings) {
+            propagateValueChange(source);
+        }
+
+        if (beforePropagation == current) {
+            notifyIntValueChanged(previousValue, current);
         }
     }
+
+    private void notifyIntValueChanged(int previousValue, int newValue) {
+        if (BindableTransaction.isActive()) {
+            BindableTransaction.defer(this, previousValue);
+            return;
+        }
+
+        IIntValueChangedListener[] listeners = intValueChangedListeners;
+        FrameStatistics.add(StatisticsCounterType.BindableNotifications, listeners.length);
+
+        for (IIntValueChangedListener listener : listeners) {
+            listener.onValueChanged(previousValue, newValue);
+        }
+
+        // Only box when someone is listening for boxed events
+        if (hasValueChangedListeners()) {
+            notifyValueChanged(previousValue, newValue);
+        }
+    }
+
+    @Override
+    protected void adoptValue(Bindable<Integer> origin) {
+        int newValue = origin instanceof BindableInt ? ((BindableInt) origin).current : origin.getValue();
+        if (current == newValue) {
+            return;
+        }
+
+        pendingPreviousValue = current;
+        pendingValue = newValue;
+        hasPendingValue = true;
+        current = newValue;
+    }
+
+    @Override
+    protected void notifyAdoptedValue() {
+        if (!hasPendingValue) {
+            return;
+        }
+
+        hasPendingValue = false;
+        if (current == pendingValue) {
+            notifyIntValueChanged(pendingPreviousValue, pendingValue);
+        }
+    }
+
+    @Override
+    protected void flushDeferredValueChange(Integer previousValue) {
+        int previous = previousValue;
+        if (previous != current) {
+            notifyIntValueChanged(previous, current);
+        }
+    }
+
+    @Override
+    protected void storeValue(Integer value) {
+        current = value;
+    }
+
+    @Override
+    protected Bindable<Integer> createInstance() {
+        return new BindableInt();
+    }
 }
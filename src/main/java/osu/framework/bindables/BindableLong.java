@@ -1,71 +1,220 @@
 package osu.framework.bindables;
 
+import osu.framework.allocation.InvokeOnDisposal;
+import osu.framework.statistics.FrameStatistics;
+import osu.framework.statistics.StatisticsCounterType;
+
 /**
  * A bindable for long values with min/max constraints.
+ * The value is stored as a primitive, so changes made through
+ * {@link #setLongValue(long)} and observed through
+ * {@link #bindLongValueChanged(ILongValueChangedListener, boolean)} do not
+ * box.
  */
-public class BindableLong extends Bindable<Long> {
-    private Long minValue;
-    private Long maxValue;
+public class BindableLong extends BindableNumber<Long> {
+    private long current;
+
+    private boolean hasPendingValue;
+    private long pendingPreviousValue;
+    private long pendingValue;
+
+    private static final ILongValueChangedListener[] NO_LONG_LISTENERS = new ILongValueChangedListener[0];
+
+    /**
+     * Copy-on-write so dispatch iterates a stable snapshot, like the boxed
+     * listeners of {@link Bindable}.
+     */
+    private volatile ILongValueChangedListener[] longValueChangedListeners = NO_LONG_LISTENERS;
 
     public BindableLong(long defaultValue) {
         super(defaultValue);
+        this.current = defaultValue;
     }
 
     public BindableLong() {
-        super(0L);
+        this(0L);
     }
 
-    public Long getMinValue() {
-        return minValue;
+    @Override
+    public Long getValue() {
+        return current;
     }
 
-    public void setMinValue(Long minValue) {
-        this.minValue = minValue;
-        if (getValue() != null && minValue != null && getValue() < minValue) {
-            setValue(minValue);
-        }
+    /**
+     * Gets the current value of this bindable without boxing.
+     */
+    public long getLongValue() {
+        return current;
     }
 
-    public Long getMaxValue() {
-        return maxValue;
+    @Override
+    public void setMinValue(Long minValue) {
+        super.setMinValue(minValue);
+        if (minValue != null && current < minValue) {
+            setLongValue(minValue);
+        }
     }
 
+    @Override
     public void setMaxValue(Long maxValue) {
-        this.maxValue = maxValue;
-        if (getValue() != null && maxValue != null && getValue() > maxValue) {
-            setValue(maxValue);
+        super.setMaxValue(maxValue);
+        if (maxValue != null && current > maxValue) {
+            setLongValue(maxValue);
         }
     }
 
     @Override
     public void setValue(Long value) {
-        if (value != null) {
-            if (minValue != null && value < minValue) {
-                value = minValue;
-            }
-            if (maxValue != null && value > maxValue) {
-                value = maxValue;
-            }
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot set a null value on a BindableLong.");
         }
-        super.setValue(value);
+        setLongValue(value);
     }
 
+    /**
+     * Sets the current value of this bindable without boxing.
+     *
+     * @param value The new value.
+     * @throws IllegalStateException if the bindable is disabled.
+     */
+    public void setLongValue(long value) {
+        if (isDisabled()) {
+            throw new IllegalStateException("Cannot set value to \"" + value + "\" as bindable is disabled.");
+        }
+
+        // Apply clamping
+        Long minValue = getMinValue();
+        if (minValue != null && value < minValue) {
+            value = minValue;
+        }
+        Long maxValue = getMaxValue();
+        if (maxValue != null && value > maxValue) {
+            value = maxValue;
+        }
+
+        if (current == value) {
+            return;
+        }
+
+        long previousValue = current;
+        current = value;
+        triggerLongValueChange(previousValue, this, true);
+    }
+
+    /**
+     * Adds a value to the current value.
+     */
     public void add(long value) {
-        setValue(getValue() + value);
+        setLongValue(current + value);
+    }
+
+    /**
+     * Binds a primitive callback to value changes with the option of running the
+     * bound callback once immediately.
+     *
+     * @param onChange           The action to perform when the value changes.
+     * @param runOnceImmediately Whether the action provided should be run once
+     *                           immediately.
+     * @return A handle which unbinds the callback when closed.
+     */
+    public InvokeOnDisposal bindLongValueChanged(ILongValueChangedListener onChange, boolean runOnceImmediately) {
+        synchronized (writeLock) {
+            longValueChangedListeners = withListener(longValueChangedListeners, onChange);
+        }
+        if (runOnceImmediately) {
+            onChange.onValueChanged(current, current);
+        }
+
+        return new InvokeOnDisposal(() -> {
+            synchronized (writeLock) {
+                longValueChangedListeners = withoutListener(longValueChangedListeners, onChange);
+            }
+        });
     }
 
     @Override
-    protected Bindable<Long> createInstance() {
-        return new BindableLong();
+    public void unbindEvents() {
+        super.unbindEvents();
+        longValueChangedListeners = NO_LONG_LISTENERS;
+    }
+
+    @Override
+    protected void triggerValueChange(Long previousValue, Bindable<Long> source, boolean propagateToBindings) {
+        triggerLongValueChange(previousValue, source, propagateToBindings);
+    }
+
+    private void triggerLongValueChange(long previousValue, Bindable<Long> source,
+            boolean propagateToBindings) {
+        long beforePropagation = current;
+
+        if (propagateToBindings) {
+            propagateValueChange(source);
+        }
+
+        if (beforePropagation == current) {
+            notifyLongValueChanged(previousValue, current);
+        }
+    }
+
+    private void notifyLongValueChanged(long previousValue, long newValue) {
+        if (BindableTransaction.isActive()) {
+            BindableTransaction.defer(this, previousValue);
+            return;
+        }
+
+        ILongValueChangedListener[] listeners = longValueChangedListeners;
+        FrameStatistics.add(StatisticsCounterType.BindableNotifications, listeners.length);
+
+        for (ILongValueChangedListener listener : listeners) {
+            listener.onValueChanged(previousValue, newValue);
+        }
+
+        // Only box when someone is listening for boxed events
+        if (hasValueChangedListeners()) {
+            notifyValueChanged(previousValue, newValue);
+        }
     }
 
     @Override
-    protected void copyTo(Bindable<Long> them) {
-        super.copyTo(them);
-        if (them instanceof BindableLong) {
-            BindableLong other = (BindableLong) them;
-            other.minValue = this.minValue;
-            other.maxValue = this.maxValue;
+    protected void adoptValue(Bindable<Long> origin) {
+        long newValue = origin instanceof BindableLong ? ((BindableLong) origin).current : origin.getValue();
+        if (current == newValue) {
+            return;
         }
+
+        pendingPreviousValue = current;
+        pendingValue = newValue;
+        hasPendingValue = true;
+        current = newValue;
+    }
+
+    @Override
+    protected void notifyAdoptedValue() {
+        if (!hasPendingValue) {
+            return;
+        }
+
+        hasPendingValue = false;
+        if (current == pendingValue) {
+            notifyLongValueChanged(pendingPreviousValue, pendingValue);
+        }
+    }
+
+    @Override
+    protected void flushDeferredValueChange(Long previousValue) {
+        long previous = previousValue;
+        if (previous != current) {
+            notifyLongValueChanged(previous, current);
+        }
+    }
+
+    @Override
+    protected void storeValue(Long value) {
+        current = value;
+    }
+
+    @Override
+    protected Bindable<Long> createInstance() {
+        return new BindableLong();
     }
 }
@@ -49,10 +49,17 @@ public class BindableNumber<T extends Number> extends Bindable<T> {
     }
 
     @Override
-    public IBindable<T> getUnboundCopy() {
-        BindableNumber<T> copy = new BindableNumber<>(this.getValue());
-        copy.setMinValue(this.minValue);
-        copy.setMaxValue(this.maxValue);
-        return copy;
+    protected Bindable<T> createInstance() {
+        return new BindableNumber<>();
+    }
+
+    @Override
+    protected void copyTo(Bindable<T> them) {
+        super.copyTo(them);
+        if (them instanceof BindableNumber) {
+            BindableNumber<T> other = (BindableNumber<T>) them;
+            other.minValue = this.minValue;
+            other.maxValue = this.maxValue;
+        }
     }
 }
@@ -0,0 +1,110 @@
+package osu.framework.bindables;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Defers value change notifications of all bindables changed on the current
+ * thread until the transaction is closed. Values (and bindings) are still
+ * updated immediately; only listeners are held back.
+ * <p>
+ * On close, each changed bindable notifies its listeners at most once, with a
+ * single event from the value before its first change to its final value.
+ * Bindables which end up back at their original value are not notified.
+ * Transactions may be nested, in which case notifications are delivered when
+ * the outermost transaction closes.
+ *
+ * <pre>
+ * try (BindableTransaction transaction = BindableTransaction.begin()) {
+ *     // ...
+ * }
+ * </pre>
+ *
+ * @see Bindable#batch(Runnable)
+ */
+public final class BindableTransaction implements AutoCloseable {
+    private static final ThreadLocal<BindableTransaction> CURRENT = ThreadLocal.withInitial(BindableTransaction::new);
+
+    /**
+     * The number of threads with an active transaction, allowing the common case
+     * of no transactions to skip the thread-local lookup.
+     */
+    private static final AtomicInteger ACTIVE_COUNT = new AtomicInteger();
+
+    private int depth;
+
+    private final List<Bindable<?>> changed = new ArrayList<>();
+    private final Map<Bindable<?>, Object> previousValues = new IdentityHashMap<>();
+
+    private BindableTransaction() {
+    }
+
+    /**
+     * Begins a transaction on the current thread.
+     * The returned instance is reused per thread, so this does not allocate.
+     *
+     * @return The transaction, which must be closed to deliver notifications.
+     */
+    public static BindableTransaction begin() {
+        BindableTransaction transaction = CURRENT.get();
+        if (transaction.depth++ == 0) {
+            ACTIVE_COUNT.incrementAndGet();
+        }
+        return transaction;
+    }
+
+    /**
+     * Whether a transaction is active on the current thread.
+     */
+    static boolean isActive() {
+        return ACTIVE_COUNT.get() != 0 && CURRENT.get().depth > 0;
+    }
+
+    /**
+     * Records a deferred value change of a bindable on the current thread's
+     * transaction. Only the first previous value of each bindable is kept.
+     */
+    static void defer(Bindable<?> bindable, Object previousValue) {
+        BindableTransaction transaction = CURRENT.get();
+        if (!transaction.previousValues.containsKey(bindable)) {
+            transaction.previousValues.put(bindable, previousValue);
+            transaction.changed.add(bindable);
+        }
+    }
+
+    /**
+     * Ends this transaction, delivering deferred notifications if it is the
+     * outermost one.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void close() {
+        if (depth == 0) {
+            throw new IllegalStateException("Transaction has already been closed.");
+        }
+
+        if (--depth > 0) {
+            return;
+        }
+
+        ACTIVE_COUNT.decrementAndGet();
+
+        // Notifications may cause further changes, which should be delivered immediately
+        // rather than be added to the list being flushed
+        Bindable<?>[] toFlush = changed.toArray(new Bindable<?>[0]);
+        Object[] previous = new Object[toFlush.length];
+        for (int i = 0; i < toFlush.length; i++) {
+            previous[i] = previousValues.get(toFlush[i]);
+        }
+
+        changed.clear();
+        previousValues.clear();
+
+        for (int i = 0; i < toFlush.length; i++) {
+            ((Bindable<Object>) toFlush[i]).flushDeferredValueChange(previous[i]);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package osu.framework.bindables;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A weak reference to a {@link Bindable} which also tracks the references of
+ * all bindables it is bound to.
+ * <p>
+ * Membership is kept in a concurrent identity set so binding and unbinding are
+ * O(1), and a copy-on-write snapshot is rebuilt lazily for iteration, so
+ * propagation neither locks nor allocates once the graph is stable. Bindables
+ * which get garbage collected are removed from every set they belong to via a
+ * shared {@link ReferenceQueue}.
+ *
+ * @param <T> The type of value of the referenced bindable.
+ */
+final class BindingReference<T> extends WeakReference<Bindable<T>> {
+    private static final ReferenceQueue<Object> COLLECTED = new ReferenceQueue<>();
+    private static final BindingReference<?>[] NONE = new BindingReference<?>[0];
+
+    // References don't override equals/hashCode, so this is an identity set
+    private final Set<BindingReference<T>> bound = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger version = new AtomicInteger();
+    private volatile Snapshot<T> snapshot;
+
+    BindingReference(Bindable<T> referent) {
+        super(referent, COLLECTED);
+    }
+
+    /**
+     * Whether the given reference is part of this reference's bindings.
+     */
+    boolean contains(BindingReference<T> other) {
+        return bound.contains(other);
+    }
+
+    /**
+     * Adds a reference to this reference's bindings.
+     *
+     * @return Whether the reference was not already present.
+     */
+    boolean add(BindingReference<T> other) {
+        expungeCollected();
+
+        if (!bound.add(other)) {
+            return false;
+        }
+
+        version.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Removes a reference from this reference's bindings.
+     *
+     * @return Whether the reference was present.
+     */
+    boolean remove(BindingReference<T> other) {
+        if (!bound.remove(other)) {
+            return false;
+        }
+
+        version.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Retrieves a snapshot of the bound references. The returned array must not be
+     * modified, and may contain references whose bindable has been collected.
+     */
+    @SuppressWarnings("unchecked")
+    BindingReference<T>[] getBound() {
+        int currentVersion = version.get();
+
+        Snapshot<T> s = snapshot;
+        if (s != null && s.version == currentVersion) {
+            return s.references;
+        }
+
+        BindingReference<T>[] references = bound.isEmpty()
+                ? (BindingReference<T>[]) NONE
+                : bound.toArray((BindingReference<T>[]) NONE);
+        snapshot = new Snapshot<>(currentVersion, references);
+        return references;
+    }
+
+    /**
+     * Removes references to collected bindables from all sets they are part of.
+     */
+    @SuppressWarnings("unchecked")
+    static void expungeCollected() {
+        BindingReference<Object> dead;
+        while ((dead = (BindingReference<Object>) COLLECTED.poll()) != null) {
+            // Bindings are always symmetric, so the dead reference's own set names every
+            // set it is a member of
+            for (BindingReference<Object> other : dead.bound) {
+                other.remove(dead);
+            }
+            dead.bound.clear();
+            dead.snapshot = null;
+        }
+    }
+
+    private static final class Snapshot<T> {
+        final int version;
+        final BindingReference<T>[] references;
+
+        Snapshot(int version, BindingReference<T>[] references) {
+            this.version = version;
+            this.references = references;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package osu.framework.bindables;
+
+import java.util.Arrays;
+
+/**
+ * A breadth-first walk over a graph of bound bindables, used to propagate
+ * changes iteratively rather than recursing into each binding.
+ * <p>
+ * Visited bindables are tracked in an identity hash set owned by the
+ * traversal, so traversals on different threads through overlapping graphs do
+ * not interfere. The node buffer and set are reused per thread, so propagating
+ * through a stable graph does not allocate. Traversals started while another
+ * is in progress on the same thread (ie. from a listener) use their own
+ * buffers.
+ */
+final class BindingTraversal {
+    private static final ThreadLocal<BindingTraversal> CACHED = ThreadLocal.withInitial(BindingTraversal::new);
+
+    private Bindable<?>[] nodes = new Bindable<?>[16];
+    private int count;
+    private boolean inUse;
+
+    /**
+     * Open-addressed identity set of visited bindables, kept at most half full.
+     */
+    private Bindable<?>[] visited = new Bindable<?>[32];
+
+    /**
+     * The slots of {@link #visited} in use, so that it can be cleared without
+     * scanning every slot.
+     */
+    private int[] visitedSlots = new int[16];
+    private int visitedCount;
+
+    /**
+     * Collects all bindables reachable from an origin, in breadth-first order.
+     * Must be paired with {@link #release()}.
+     *
+     * @param origin The bindable to start from. Not included in the result.
+     * @param source A bindable to exclude from the walk, which may be the origin.
+     * @return The traversal holding the collected bindables.
+     */
+    static BindingTraversal collect(Bindable<?> origin, Bindable<?> source) {
+        BindingTraversal traversal = CACHED.get();
+        if (traversal.inUse) {
+            traversal = new BindingTraversal();
+        }
+        traversal.inUse = true;
+
+        traversal.markVisited(origin);
+        if (source != null) {
+            traversal.markVisited(source);
+        }
+
+        traversal.visit(origin);
+        for (int head = 0; head < traversal.count; head++) {
+            traversal.visit(traversal.nodes[head]);
+        }
+
+        return traversal;
+    }
+
+    private <T> void visit(Bindable<T> node) {
+        BindingReference<T> ref = node.peekBindingReference();
+        if (ref == null) {
+            return;
+        }
+
+        for (BindingReference<T> boundRef : ref.getBound()) {
+            Bindable<T> bound = boundRef.get();
+            if (bound == null || !markVisited(bound)) {
+                continue;
+            }
+
+            if (count == nodes.length) {
+                nodes = Arrays.copyOf(nodes, count * 2);
+            }
+            nodes[count++] = bound;
+        }
+    }
+
+    /**
+     * Adds a bindable to the visited set.
+     *
+     * @return Whether it had not been visited yet.
+     */
+    private boolean markVisited(Bindable<?> bindable) {
+        if ((visitedCount + 1) * 2 > visited.length) {
+            growVisited();
+        }
+
+        int mask = visited.length - 1;
+        int hash = System.identityHashCode(bindable);
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (visited[slot] != null) {
+            if (visited[slot] == bindable) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        visited[slot] = bindable;
+        if (visitedCount == visitedSlots.length) {
+            visitedSlots = Arrays.copyOf(visitedSlots, visitedCount * 2);
+        }
+        visitedSlots[visitedCount++] = slot;
+        return true;
+    }
+
+    private void growVisited() {
+        Bindable<?>[] old = visited;
+        int[] oldSlots = visitedSlots;
+        int oldCount = visitedCount;
+
+        visited = new Bindable<?>[old.length * 2];
+        visitedSlots = new int[Math.max(oldSlots.length, old.length)];
+        visitedCount = 0;
+        for (int i = 0; i < oldCount; i++) {
+            markVisited(old[oldSlots[i]]);
+        }
+    }
+
+    /**
+     * The number of bindables collected.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Retrieves a collected bindable. All bindables in a bound graph share the
+     * value type of the origin.
+     */
+    @SuppressWarnings("unchecked")
+    <T> Bindable<T> get(int index) {
+        return (Bindable<T>) nodes[index];
+    }
+
+    /**
+     * Releases the collected bindables so the buffer can be reused.
+     */
+    void release() {
+        Arrays.fill(nodes, 0, count, null);
+        count = 0;
+
+        for (int i = 0; i < visitedCount; i++) {
+            visited[visitedSlots[i]] = null;
+        }
+        visitedCount = 0;
+        inUse = false;
+    }
+}
@@ -1,5 +1,7 @@
 package osu.framework.bindables;
 
+import osu.framework.allocation.InvokeOnDisposal;
+
 import java.util.function.Consumer;
 
 /**
@@ -36,8 +38,9 @@ public interface IBindable<T> extends ICanBeDisabled, IHasDefaultValue, IUnbinda
      * @param onChange           The action to perform when the value changes.
      * @param runOnceImmediately Whether the action provided should be run once
      *                           immediately.
+     * @return A handle which unbinds the callback when closed.
      */
-    void bindValueChanged(Consumer<ValueChangedEvent<T>> onChange, boolean runOnceImmediately);
+    InvokeOnDisposal bindValueChanged(Consumer<ValueChangedEvent<T>> onChange, boolean runOnceImmediately);
 
     /**
      * Retrieves a new bindable instance weakly bound to the configuration backing.
@@ -0,0 +1,16 @@
+package osu.framework.bindables;
+
+/**
+ * A listener for value changes of a {@link BindableLong} which receives
+ * primitive values, avoiding boxing.
+ */
+@FunctionalInterface
+public interface ILongValueChangedListener {
+    /**
+     * Invoked when the value of the bindable changes.
+     * 
+     * @param oldValue The previous value.
+     * @param newValue The new value.
+     */
+    void onValueChanged(long oldValue, long newValue);
+}
@@ -4,12 +4,18 @@ import java.util.Objects;
 
 /**
  * An event representing a value change in a bindable.
+ * <p>
+ * Bindables reuse event instances between dispatches to avoid allocating on
+ * every change, so an event must not be retained past the callback it was
+ * received in: once the callback returns, its values are cleared and later
+ * overwritten by another change, and so its {@link #equals} and
+ * {@link #hashCode} change too. Copy out the values if they are needed later.
  * 
  * @param <T> The type of value that changed.
  */
 public class ValueChangedEvent<T> {
-    private final T oldValue;
-    private final T newValue;
+    private T oldValue;
+    private T newValue;
 
     /**
      * Creates a new value changed event.
@@ -22,6 +28,14 @@ public class ValueChangedEvent<T> {
         this.newValue = newValue;
     }
 
+    /**
+     * Repopulates this event for reuse by the dispatching bindable.
+     */
+    void set(T oldValue, T newValue) {
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
     /**
      * Gets the previous value.
      */
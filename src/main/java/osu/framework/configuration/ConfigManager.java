@@ -1,6 +1,8 @@
 package osu.framework.configuration;
 
 import osu.framework.bindables.*;
+import osu.framework.statistics.ConfigSaveEvent;
+import osu.framework.statistics.FrameworkEvents;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -48,7 +50,8 @@ public abstract class ConfigManager<TLookup extends Enum<TLookup>> implements IC
 
     @Override
     public void load() {
-        performLoad();
+        // Listeners only need to hear about the final loaded values
+        Bindable.batch(this::performLoad);
         hasLoaded = true;
     }
 
@@ -72,7 +75,21 @@ public abstract class ConfigManager<TLookup extends Enum<TLookup>> implements IC
 
         synchronized (saveLock) {
             lastSave.incrementAndGet();
-            return performSave();
+
+            ConfigSaveEvent event = FrameworkEvents.CONFIG_SAVE.isEnabled() ? new ConfigSaveEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+
+            boolean succeeded = performSave();
+
+            if (event != null) {
+                event.configManager = getClass();
+                event.succeeded = succeeded;
+                event.commit();
+            }
+
+            return succeeded;
         }
     }
 
@@ -130,7 +147,7 @@ public abstract class ConfigManager<TLookup extends Enum<TLookup>> implements IC
     protected BindableDouble setDefault(TLookup lookup, double value, Double min, Double max, Double precision) {
         value = getDefault(lookup, value);
 
-        BindableDouble bindable = (BindableDouble) getOriginalBindable(lookup);
+        BindableDouble bindable = (BindableDouble) this.<Double>getOriginalBindable(lookup);
         if (bindable == null) {
             bindable = new BindableDouble(value);
             addBindable(lookup, bindable);
@@ -155,7 +172,7 @@ public abstract class ConfigManager<TLookup extends Enum<TLookup>> implements IC
     protected BindableFloat setDefault(TLookup lookup, float value, Float min, Float max, Float precision) {
         value = getDefault(lookup, value);
 
-        BindableFloat bindable = (BindableFloat) getOriginalBindable(lookup);
+        BindableFloat bindable = (BindableFloat) this.<Float>getOriginalBindable(lookup);
         if (bindable == null) {
             bindable = new BindableFloat(value);
             addBindable(lookup, bindable);
@@ -180,7 +197,7 @@ public abstract class ConfigManager<TLookup extends Enum<TLookup>> implements IC
     protected BindableInt setDefault(TLookup lookup, int value, Integer min, Integer max) {
         value = getDefault(lookup, value);
 
-        BindableInt bindable = (BindableInt) getOriginalBindable(lookup);
+        BindableInt bindable = (BindableInt) this.<Integer>getOriginalBindable(lookup);
         if (bindable == null) {
             bindable = new BindableInt(value);
             addBindable(lookup, bindable);
@@ -203,7 +220,7 @@ public abstract class ConfigManager<TLookup extends Enum<TLookup>> implements IC
     protected BindableLong setDefault(TLookup lookup, long value, Long min, Long max) {
         value = getDefault(lookup, value);
 
-        BindableLong bindable = (BindableLong) getOriginalBindable(lookup);
+        BindableLong bindable = (BindableLong) this.<Long>getOriginalBindable(lookup);
         if (bindable == null) {
             bindable = new BindableLong(value);
             addBindable(lookup, bindable);
@@ -226,7 +243,7 @@ public abstract class ConfigManager<TLookup extends Enum<TLookup>> implements IC
     protected BindableBool setDefault(TLookup lookup, boolean value) {
         value = getDefault(lookup, value);
 
-        BindableBool bindable = (BindableBool) getOriginalBindable(lookup);
+        BindableBool bindable = (BindableBool) this.<Boolean>getOriginalBindable(lookup);
         if (bindable == null) {
             bindable = new BindableBool(value);
             addBindable(lookup, bindable);
@@ -1,7 +1,22 @@
 package osu.framework.graphics;
 
 public enum Anchor {
-    TopLeft,
-    Centre,
+    TopLeft(0, 0),
+    Centre(0.5f, 0.5f);
     // Add others as needed
+
+    /**
+     * The position of the anchor as a fraction of the width.
+     */
+    public final float x;
+
+    /**
+     * The position of the anchor as a fraction of the height.
+     */
+    public final float y;
+
+    Anchor(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
 }
@@ -0,0 +1,57 @@
+package osu.framework.graphics;
+
+import java.util.Arrays;
+
+/**
+ * A snapshot of everything to be drawn in a frame, generated by the update
+ * thread and handed to the draw thread.
+ * <p>
+ * Nodes are reused between the frames generated into the same instance, so
+ * generating a frame does not allocate once the tree stops growing.
+ */
+public final class DrawFrame {
+    private DrawNode[] nodes = new DrawNode[16];
+    private int count;
+
+    /**
+     * The number of nodes in this frame.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * A node of this frame, in draw order, from back to front.
+     */
+    public DrawNode get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + count + " nodes");
+        }
+        return nodes[index];
+    }
+
+    /**
+     * Adds a node copied from the current state of a drawable, in front of the
+     * nodes already added.
+     */
+    public void add(Drawable drawable) {
+        if (count == nodes.length) {
+            nodes = Arrays.copyOf(nodes, count * 2);
+        }
+
+        DrawNode node = nodes[count];
+        if (node == null) {
+            node = nodes[count] = new DrawNode();
+        }
+
+        node.set(drawable);
+        count++;
+    }
+
+    /**
+     * Removes all nodes, keeping them to be reused.
+     */
+    public void clear() {
+        count = 0;
+    }
+}
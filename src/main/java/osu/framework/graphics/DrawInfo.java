@@ -0,0 +1,17 @@
+package osu.framework.graphics;
+
+import osu.framework.math.Matrix3;
+
+/**
+ * How a drawable is drawn: the transformation from its local space to screen
+ * space, and its colour combined with those of its parents.
+ * <p>
+ * Owned and updated in place by the drawable; must not be modified.
+ */
+public final class DrawInfo {
+    public final Matrix3 matrix = new Matrix3();
+    public final Color4 colour = new Color4(1, 1, 1, 1);
+
+    DrawInfo() {
+    }
+}
@@ -0,0 +1,25 @@
+package osu.framework.graphics;
+
+import osu.framework.math.Quad;
+
+/**
+ * How a single drawable is to be drawn in a {@link DrawFrame}, copied from it
+ * on the update thread so that it can be read on the draw thread.
+ */
+public final class DrawNode {
+    public final Quad screenSpaceDrawQuad = new Quad();
+    public final Color4 colour = new Color4(1, 1, 1, 1);
+
+    DrawNode() {
+    }
+
+    void set(Drawable drawable) {
+        screenSpaceDrawQuad.set(drawable.getScreenSpaceDrawQuad());
+
+        Color4 drawColour = drawable.getDrawInfo().colour;
+        colour.r = drawColour.r;
+        colour.g = drawColour.g;
+        colour.b = drawColour.b;
+        colour.a = drawColour.a;
+    }
+}
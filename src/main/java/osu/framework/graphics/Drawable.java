@@ -1,36 +1,486 @@
 package osu.framework.graphics;
 
 import osu.framework.allocation.IDependencyInjectionCandidate;
+import osu.framework.caching.Cached;
+import osu.framework.math.Matrix3;
+import osu.framework.math.Quad;
 import osu.framework.math.Vector2;
 import osu.framework.graphics.containers.CompositeDrawable;
 import osu.framework.graphics.transforms.Transformable;
+import osu.framework.statistics.FrameStatistics;
+import osu.framework.statistics.StatisticsCounterType;
+import osu.framework.timing.IFrameBasedClock;
 
 public class Drawable extends Transformable implements IDependencyInjectionCandidate {
-    public Anchor anchor = Anchor.TopLeft;
-    public Anchor origin = Anchor.TopLeft;
-    public Vector2 size = new Vector2();
-    public Color4 colour = Color4.Tomato; // Default?
-    public float rotation;
+    private static final Matrix3 IDENTITY = new Matrix3();
+    private static final Color4 WHITE = new Color4(1, 1, 1, 1);
+
+    private Anchor anchor = Anchor.TopLeft;
+    private Anchor origin = Anchor.TopLeft;
+    private float x;
+    private float y;
+    private float width;
+    private float height;
+    private float rotation;
+    private final Color4 colour = new Color4(Color4.Tomato.r, Color4.Tomato.g, Color4.Tomato.b, Color4.Tomato.a);
+
+    // Derived from the properties above and those of the parent, recomputed when invalidated
+    private final DrawInfo drawInfo = new DrawInfo();
+    private final Cached drawMatrixCache = new Cached();
+    private final Cached drawColourCache = new Cached();
+    private final Quad screenSpaceDrawQuad = new Quad();
+    private final Cached screenSpaceDrawQuadCache = new Cached();
 
     public CompositeDrawable parent;
-    public float depth;
-    public boolean isAlive = true;
+
+    /**
+     * Whether this drawable is removed from its parent once the end of its
+     * lifetime has passed.
+     */
+    public boolean removeWhenNotAlive = true;
+
+    /**
+     * Whether this drawable is disposed when removed from its parent because
+     * the end of its lifetime has passed.
+     */
+    public boolean disposeOnDeathRemoval = true;
 
     // Simplified LoadState
     public boolean isLoaded;
 
+    /**
+     * Whether this drawable processes a frame of its custom clock on each
+     * update. Disable when the clock is processed elsewhere.
+     */
+    public boolean processCustomClock = true;
+
+    private osu.framework.allocation.DependencyContainer dependencies;
+    private IFrameBasedClock customClock;
+
+    private float depth;
+
+    private double lifetimeStart = Double.NEGATIVE_INFINITY;
+    private double lifetimeEnd = Double.POSITIVE_INFINITY;
+
+    private boolean isDisposed;
+
+    // Alive state within the parent, managed by LifetimeManager
+    boolean alive = true;
+    LifetimeManager lifetimeManager;
+    LifetimeState lifetimeState;
+    int lifetimeIndex = -1;
+    int lifetimeSecondaryIndex = -1;
+
+    // Position within the parent's children and alive children, managed by SortedChildList
+    long childId;
+    final SortedChildList.Entry childEntry = new SortedChildList.Entry(this);
+    final SortedChildList.Entry aliveEntry = new SortedChildList.Entry(this);
+
     public void Update() {
+        if (customClock != null && processCustomClock) {
+            customClock.processFrame();
+        }
         updateTransforms();
     }
 
+    /**
+     * Binds this drawable and its children to a clock, instead of the clock of
+     * its parent.
+     *
+     * @param clock The clock, or null to use the clock of the parent.
+     */
+    public void setClock(IFrameBasedClock clock) {
+        customClock = clock;
+    }
+
+    /**
+     * The clock this drawable is timed by: its custom clock if set, otherwise
+     * the clock of its parent. Null if neither it nor any parent has a clock.
+     */
+    public IFrameBasedClock getClock() {
+        for (Drawable d = this; d != null; d = d.parent) {
+            if (d.customClock != null) {
+                return d.customClock;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    protected double getCurrentTime() {
+        IFrameBasedClock clock = getClock();
+        return clock != null ? clock.getCurrentTime() : osu.framework.Time.Current;
+    }
+
+    /**
+     * The depth of this drawable within its parent. Children with a higher depth
+     * are drawn behind those with a lower depth.
+     */
+    public float getDepth() {
+        return depth;
+    }
+
+    public void setDepth(float depth) {
+        if (Float.compare(this.depth, depth) == 0) {
+            return;
+        }
+
+        this.depth = depth;
+
+        if (childEntry.list != null) {
+            childEntry.list.depthChanged(this);
+        }
+        if (aliveEntry.list != null) {
+            aliveEntry.list.depthChanged(this);
+        }
+    }
+
+    /**
+     * The time from which this drawable is alive, in the time of its parent.
+     */
+    public double getLifetimeStart() {
+        return lifetimeStart;
+    }
+
+    public void setLifetimeStart(double lifetimeStart) {
+        if (this.lifetimeStart == lifetimeStart) {
+            return;
+        }
+
+        this.lifetimeStart = lifetimeStart;
+
+        if (lifetimeManager != null) {
+            lifetimeManager.lifetimeChanged(this);
+        }
+    }
+
+    /**
+     * The time from which this drawable is no longer alive, in the time of its
+     * parent.
+     */
+    public double getLifetimeEnd() {
+        return lifetimeEnd;
+    }
+
+    public void setLifetimeEnd(double lifetimeEnd) {
+        if (this.lifetimeEnd == lifetimeEnd) {
+            return;
+        }
+
+        this.lifetimeEnd = lifetimeEnd;
+
+        if (lifetimeManager != null) {
+            lifetimeManager.lifetimeChanged(this);
+        }
+    }
+
+    /**
+     * Whether the time of the parent is within the lifetime of this drawable,
+     * as of the last update of the parent. Only alive drawables are updated.
+     * Always true without a parent.
+     */
+    public boolean isAlive() {
+        return alive;
+    }
+
+    /**
+     * Whether this drawable has been disposed.
+     */
+    public boolean isDisposed() {
+        return isDisposed;
+    }
+
+    /**
+     * Disposes this drawable.
+     */
+    public void dispose() {
+        dispose(true);
+    }
+
+    /**
+     * Disposes this drawable.
+     *
+     * @param disposing Whether to dispose managed resources.
+     */
+    protected void dispose(boolean disposing) {
+        isDisposed = true;
+        clearTransforms();
+    }
+
+    /**
+     * The point of the parent this drawable is positioned relative to.
+     */
+    public Anchor getAnchor() {
+        return anchor;
+    }
+
+    public void setAnchor(Anchor anchor) {
+        if (this.anchor == anchor) {
+            return;
+        }
+
+        this.anchor = anchor;
+        invalidate(Invalidation.POSITION);
+    }
+
+    /**
+     * The point of this drawable which is placed at its position, and which it
+     * rotates around.
+     */
+    public Anchor getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(Anchor origin) {
+        if (this.origin == origin) {
+            return;
+        }
+
+        this.origin = origin;
+        invalidate(Invalidation.POSITION);
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    /**
+     * The position of this drawable relative to its anchor in the parent.
+     *
+     * @return A copy of the position.
+     */
+    public Vector2 getPosition() {
+        return new Vector2(x, y);
+    }
+
+    public void setPosition(float x, float y) {
+        if (this.x == x && this.y == y) {
+            return;
+        }
+
+        this.x = x;
+        this.y = y;
+        invalidate(Invalidation.POSITION);
+    }
+
+    public void setPosition(Vector2 position) {
+        setPosition(position.x, position.y);
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public float getHeight() {
+        return height;
+    }
+
+    /**
+     * @return A copy of the size.
+     */
+    public Vector2 getSize() {
+        return new Vector2(width, height);
+    }
+
+    public void setSize(float width, float height) {
+        if (this.width == width && this.height == height) {
+            return;
+        }
+
+        this.width = width;
+        this.height = height;
+        invalidate(Invalidation.SIZE);
+    }
+
+    public void setSize(Vector2 size) {
+        setSize(size.x, size.y);
+    }
+
+    /**
+     * The clockwise rotation of this drawable around its origin, in degrees.
+     */
+    public float getRotation() {
+        return rotation;
+    }
+
+    public void setRotation(float rotation) {
+        if (this.rotation == rotation) {
+            return;
+        }
+
+        this.rotation = rotation;
+        invalidate(Invalidation.ROTATION);
+    }
+
+    /**
+     * The colour of this drawable, which tints its children. Defaults to
+     * {@link Color4#Tomato}, or {@link Color4#White} for composites.
+     *
+     * @return A copy of the colour.
+     */
+    public Color4 getColour() {
+        return new Color4(colour.r, colour.g, colour.b, colour.a);
+    }
+
+    public void setColour(Color4 colour) {
+        if (this.colour.r == colour.r && this.colour.g == colour.g && this.colour.b == colour.b
+                && this.colour.a == colour.a) {
+            return;
+        }
+
+        this.colour.r = colour.r;
+        this.colour.g = colour.g;
+        this.colour.b = colour.b;
+        this.colour.a = colour.a;
+        invalidate(Invalidation.COLOUR);
+    }
+
+    /**
+     * Invalidates the state derived from properties of this drawable which have
+     * changed, along with that of its parent and children which depend on them.
+     *
+     * @param invalidation The {@link Invalidation} flags of the properties.
+     * @return Whether any state of this drawable was invalidated.
+     */
+    public boolean invalidate(int invalidation) {
+        return invalidate(invalidation, InvalidationSource.Self);
+    }
+
+    /**
+     * Invalidates the state derived from properties which have changed, either
+     * of this drawable or of a drawable it depends on.
+     * <p>
+     * Drawables do not depend on their children by default, so are unaffected
+     * by invalidations from them. Override to invalidate state which does,
+     * invoking the base method.
+     *
+     * @param invalidation The {@link Invalidation} flags of the properties.
+     * @param source       The drawable whose properties changed.
+     * @return Whether any state of this drawable was invalidated.
+     */
+    public boolean invalidate(int invalidation, InvalidationSource source) {
+        if (source == InvalidationSource.Child) {
+            return false;
+        }
+
+        boolean anyInvalidated = false;
+
+        if ((invalidation & Invalidation.DRAW_MATRIX) != 0 && drawMatrixCache.isValid()) {
+            drawMatrixCache.invalidate();
+            screenSpaceDrawQuadCache.invalidate();
+            anyInvalidated = true;
+        }
+
+        if ((invalidation & Invalidation.COLOUR) != 0 && drawColourCache.isValid()) {
+            drawColourCache.invalidate();
+            anyInvalidated = true;
+        }
+
+        if (source == InvalidationSource.Self && parent != null) {
+            parent.invalidate(invalidation, InvalidationSource.Child);
+        }
+
+        return anyInvalidated;
+    }
+
+    /**
+     * How this drawable is drawn, recomputed only if invalidated since last
+     * retrieved.
+     *
+     * @return The draw info, which is updated in place.
+     */
+    public DrawInfo getDrawInfo() {
+        if (!drawMatrixCache.isValid()) {
+            computeDrawMatrix(drawInfo.matrix);
+            drawMatrixCache.validate();
+        }
+
+        if (!drawColourCache.isValid()) {
+            Color4 parentColour = parent != null ? parent.getDrawInfo().colour : WHITE;
+            drawInfo.colour.r = colour.r * parentColour.r;
+            drawInfo.colour.g = colour.g * parentColour.g;
+            drawInfo.colour.b = colour.b * parentColour.b;
+            drawInfo.colour.a = colour.a * parentColour.a;
+            drawColourCache.validate();
+        }
+
+        return drawInfo;
+    }
+
+    /**
+     * The rectangle covered by this drawable in screen space, recomputed only if
+     * invalidated since last retrieved.
+     *
+     * @return The quad, which is updated in place.
+     */
+    public Quad getScreenSpaceDrawQuad() {
+        if (!screenSpaceDrawQuadCache.isValid()) {
+            screenSpaceDrawQuad.set(width, height, getDrawInfo().matrix);
+            screenSpaceDrawQuadCache.validate();
+        }
+        return screenSpaceDrawQuad;
+    }
+
+    /**
+     * Adds how this drawable and its alive descendants are to be drawn to a
+     * frame, from back to front. Invoked on the update thread.
+     */
+    public void addDrawNodes(DrawFrame frame) {
+        frame.add(this);
+    }
+
+    /**
+     * Computes the transformation from the local space of this drawable to
+     * screen space: moving its origin to the origin of its parent's space, then
+     * rotating, then moving it to its position relative to its anchor, then
+     * applying the transformation of the parent.
+     */
+    private void computeDrawMatrix(Matrix3 result) {
+        FrameStatistics.increment(StatisticsCounterType.DrawMatrixComputations);
+
+        Matrix3 parentMatrix = IDENTITY;
+        float anchorX = 0;
+        float anchorY = 0;
+        if (parent != null) {
+            parentMatrix = parent.getDrawInfo().matrix;
+            anchorX = anchor.x * parent.getWidth();
+            anchorY = anchor.y * parent.getHeight();
+        }
+
+        double radians = Math.toRadians(rotation);
+        float cos = (float) Math.cos(radians);
+        float sin = (float) Math.sin(radians);
+        float originX = origin.x * width;
+        float originY = origin.y * height;
+
+        result.set(
+                cos, -sin, anchorX + x - (cos * originX - sin * originY),
+                sin, cos, anchorY + y - (sin * originX + cos * originY));
+        result.multiply(parentMatrix, result);
+    }
+
     public void load(osu.framework.allocation.DependencyContainer dependencies) {
+        this.dependencies = dependencies;
         dependencies.inject(this);
         isLoaded = true;
     }
 
+    /**
+     * The dependencies this drawable was loaded with, or null if it has not been
+     * loaded.
+     */
+    protected osu.framework.allocation.DependencyContainer getDependencies() {
+        return dependencies;
+    }
+
     public void rotateTo(float newRotation, double duration, Easing easing) {
         osu.framework.graphics.transforms.TransformRotation tr = new osu.framework.graphics.transforms.TransformRotation();
-        tr.startTime = osu.framework.Time.Current;
+        tr.startTime = getCurrentTime();
         tr.endTime = tr.startTime + duration;
         tr.startValue = rotation;
         tr.endValue = newRotation;
@@ -0,0 +1,32 @@
+package osu.framework.graphics;
+
+/**
+ * Flags for the properties of a drawable which have changed, invalidating the
+ * state derived from them. Flags are combined with {@code |}.
+ *
+ * @see Drawable#invalidate(int, InvalidationSource)
+ */
+public final class Invalidation {
+    public static final int NONE = 0;
+
+    /**
+     * The position, anchor or origin.
+     */
+    public static final int POSITION = 1;
+
+    public static final int SIZE = 1 << 1;
+
+    public static final int ROTATION = 1 << 2;
+
+    public static final int COLOUR = 1 << 3;
+
+    /**
+     * The properties the draw matrix and screen-space quad are derived from.
+     */
+    public static final int DRAW_MATRIX = POSITION | SIZE | ROTATION;
+
+    public static final int ALL = DRAW_MATRIX | COLOUR;
+
+    private Invalidation() {
+    }
+}
@@ -0,0 +1,22 @@
+package osu.framework.graphics;
+
+/**
+ * The drawable an invalidation originates from, relative to the one being
+ * invalidated.
+ */
+public enum InvalidationSource {
+    /**
+     * The drawable itself.
+     */
+    Self,
+
+    /**
+     * Its parent, which draws it relative to itself.
+     */
+    Parent,
+
+    /**
+     * One of its children.
+     */
+    Child
+}
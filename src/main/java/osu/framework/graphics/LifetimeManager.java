@@ -0,0 +1,338 @@
+package osu.framework.graphics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Tracks which of a set of drawables are alive at the current time, as time
+ * moves forwards or backwards.
+ * <p>
+ * Drawables are indexed by the boundaries of their lifetimes: those in the
+ * future by their start, those in the past by their end, and current ones by
+ * both. Each index is a binary heap ordered by the boundary crossed next, so an
+ * update only looks at the drawables whose state changes, in O(log n) each,
+ * however many are tracked.
+ * <p>
+ * Not thread-safe.
+ */
+public final class LifetimeManager {
+    private final Heap future = new Heap(Heap.START, false, false);
+    private final Heap currentByEnd = new Heap(Heap.END, false, false);
+    private final Heap currentByStart = new Heap(Heap.START, true, true);
+    private final Heap past = new Heap(Heap.END, true, false);
+
+    private final BiConsumer<Drawable, LifetimeState> stateChanged;
+
+    /**
+     * Drawables added since the last update, which are yet to be placed.
+     */
+    private final List<Drawable> added = new ArrayList<>();
+
+    private double currentTime = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param stateChanged Invoked with a drawable and its new state whenever its
+     *                     state changes, including when it is first placed. May
+     *                     add, remove or change the lifetime of drawables.
+     */
+    public LifetimeManager(BiConsumer<Drawable, LifetimeState> stateChanged) {
+        this.stateChanged = stateChanged;
+    }
+
+    /**
+     * The time of the last update.
+     */
+    public double getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Starts tracking a drawable. It is not alive until placed by the next
+     * update.
+     *
+     * @throws IllegalStateException If the drawable is already tracked.
+     */
+    public void add(Drawable drawable) {
+        if (drawable.lifetimeManager != null) {
+            throw new IllegalStateException("Drawable already has its lifetime managed");
+        }
+
+        drawable.lifetimeManager = this;
+        drawable.lifetimeState = null;
+        drawable.alive = false;
+        added.add(drawable);
+    }
+
+    /**
+     * Stops tracking a drawable.
+     *
+     * @return Whether the drawable was tracked.
+     */
+    public boolean remove(Drawable drawable) {
+        if (drawable.lifetimeManager != this) {
+            return false;
+        }
+
+        unplace(drawable);
+        drawable.lifetimeManager = null;
+        drawable.lifetimeState = null;
+        drawable.alive = true;
+        return true;
+    }
+
+    /**
+     * Whether an {@link #update} could change the state of any drawable, which is
+     * not the case when every drawable is placed and alive forever.
+     */
+    public boolean requiresUpdate() {
+        return !added.isEmpty() || !future.isEmpty() || !past.isEmpty()
+                || (!currentByEnd.isEmpty() && currentByEnd.peek().getLifetimeEnd() != Double.POSITIVE_INFINITY)
+                || (!currentByStart.isEmpty() && currentByStart.peek().getLifetimeStart() != Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Moves to a new time, updating the state of every drawable whose lifetime
+     * boundary was crossed.
+     */
+    public void update(double time) {
+        currentTime = time;
+
+        // Drawables added by callbacks during this loop are placed by it too
+        for (int i = 0; i < added.size(); i++) {
+            Drawable drawable = added.get(i);
+            // Skip drawables removed since, and repeats of those removed and added again
+            if (drawable.lifetimeManager == this && drawable.lifetimeState == null) {
+                transition(drawable);
+            }
+        }
+        added.clear();
+
+        // Forwards
+        while (!future.isEmpty() && future.peek().getLifetimeStart() <= time) {
+            transition(future.poll());
+        }
+        while (!currentByEnd.isEmpty() && currentByEnd.peek().getLifetimeEnd() <= time) {
+            Drawable drawable = currentByEnd.poll();
+            currentByStart.remove(drawable);
+            transition(drawable);
+        }
+
+        // Backwards
+        while (!currentByStart.isEmpty() && currentByStart.peek().getLifetimeStart() > time) {
+            Drawable drawable = currentByStart.poll();
+            currentByEnd.remove(drawable);
+            transition(drawable);
+        }
+        while (!past.isEmpty() && past.peek().getLifetimeEnd() > time) {
+            transition(past.poll());
+        }
+    }
+
+    /**
+     * Re-indexes a tracked drawable whose lifetime has changed.
+     */
+    void lifetimeChanged(Drawable drawable) {
+        if (drawable.lifetimeState == null) {
+            // Yet to be placed
+            return;
+        }
+
+        unplace(drawable);
+        transition(drawable);
+    }
+
+    /**
+     * Places a drawable which has been taken out of the indices according to
+     * the current time, notifying if its state changed.
+     */
+    private void transition(Drawable drawable) {
+        LifetimeState previous = drawable.lifetimeState;
+        LifetimeState state = stateAt(drawable, currentTime);
+        place(drawable, state);
+
+        if (state != previous) {
+            stateChanged.accept(drawable, state);
+        }
+    }
+
+    private static LifetimeState stateAt(Drawable drawable, double time) {
+        if (time < drawable.getLifetimeStart()) {
+            return LifetimeState.Future;
+        }
+        if (time >= drawable.getLifetimeEnd()) {
+            return LifetimeState.Past;
+        }
+        return LifetimeState.Current;
+    }
+
+    private void place(Drawable drawable, LifetimeState state) {
+        drawable.lifetimeState = state;
+        drawable.alive = state == LifetimeState.Current;
+
+        switch (state) {
+            case Future:
+                future.add(drawable);
+                break;
+            case Current:
+                currentByEnd.add(drawable);
+                currentByStart.add(drawable);
+                break;
+            case Past:
+                past.add(drawable);
+                break;
+        }
+    }
+
+    private void unplace(Drawable drawable) {
+        if (drawable.lifetimeState == null) {
+            return;
+        }
+
+        switch (drawable.lifetimeState) {
+            case Future:
+                future.remove(drawable);
+                break;
+            case Current:
+                currentByEnd.remove(drawable);
+                currentByStart.remove(drawable);
+                break;
+            case Past:
+                past.remove(drawable);
+                break;
+        }
+    }
+
+    /**
+     * A binary heap of drawables by a lifetime boundary, which tracks the
+     * position of each drawable so that it can be removed in O(log n).
+     */
+    private static final class Heap {
+        static final int START = 0;
+        static final int END = 1;
+
+        private final int boundary;
+        private final boolean descending;
+
+        /**
+         * Whether positions are tracked in the secondary index of drawables, as
+         * current drawables are in two heaps.
+         */
+        private final boolean secondary;
+
+        private Drawable[] items = new Drawable[16];
+        private int size;
+
+        Heap(int boundary, boolean descending, boolean secondary) {
+            this.boundary = boundary;
+            this.descending = descending;
+            this.secondary = secondary;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        Drawable peek() {
+            return items[0];
+        }
+
+        Drawable poll() {
+            Drawable first = items[0];
+            removeAt(0);
+            return first;
+        }
+
+        void add(Drawable drawable) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size] = drawable;
+            setIndex(drawable, size);
+            siftUp(size++);
+        }
+
+        void remove(Drawable drawable) {
+            int index = getIndex(drawable);
+            if (index >= 0 && index < size && items[index] == drawable) {
+                removeAt(index);
+            }
+        }
+
+        private void removeAt(int index) {
+            setIndex(items[index], -1);
+
+            int last = --size;
+            if (index != last) {
+                items[index] = items[last];
+                setIndex(items[index], index);
+                items[last] = null;
+                siftDown(index);
+                siftUp(index);
+            } else {
+                items[last] = null;
+            }
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >> 1;
+                if (!before(items[index], items[parent])) {
+                    break;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int first = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && before(items[left], items[first])) {
+                    first = left;
+                }
+                if (right < size && before(items[right], items[first])) {
+                    first = right;
+                }
+                if (first == index) {
+                    return;
+                }
+                swap(index, first);
+                index = first;
+            }
+        }
+
+        private boolean before(Drawable a, Drawable b) {
+            double keyA = key(a);
+            double keyB = key(b);
+            return descending ? keyA > keyB : keyA < keyB;
+        }
+
+        private double key(Drawable drawable) {
+            return boundary == START ? drawable.getLifetimeStart() : drawable.getLifetimeEnd();
+        }
+
+        private void swap(int a, int b) {
+            Drawable item = items[a];
+            items[a] = items[b];
+            items[b] = item;
+            setIndex(items[a], a);
+            setIndex(items[b], b);
+        }
+
+        private int getIndex(Drawable drawable) {
+            return secondary ? drawable.lifetimeSecondaryIndex : drawable.lifetimeIndex;
+        }
+
+        private void setIndex(Drawable drawable, int index) {
+            if (secondary) {
+                drawable.lifetimeSecondaryIndex = index;
+            } else {
+                drawable.lifetimeIndex = index;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package osu.framework.graphics;
+
+/**
+ * Where the current time lies relative to the lifetime of a drawable.
+ */
+public enum LifetimeState {
+    /**
+     * Before {@link Drawable#getLifetimeStart() the start} of the lifetime.
+     */
+    Future,
+
+    /**
+     * Within the lifetime, in which case the drawable is alive.
+     */
+    Current,
+
+    /**
+     * At or after {@link Drawable#getLifetimeEnd() the end} of the lifetime.
+     */
+    Past
+}
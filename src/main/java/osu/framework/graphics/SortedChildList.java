@@ -0,0 +1,300 @@
+package osu.framework.graphics;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The children of a composite drawable, in draw order: by descending
+ * {@link Drawable#getDepth() depth}, so that children with a higher depth are
+ * drawn behind, and by order of addition for equal depths.
+ * <p>
+ * Modifications are deferred and applied together on the next read. Adding a
+ * child or changing its depth queues it for insertion, removing a child clears
+ * the slot it is tracked at in O(1), and applying merges the sorted queue into
+ * the remaining children in a single pass. A frame in which {@code k} of
+ * {@code n} children were added, removed or changed depth therefore costs
+ * O(n + k log k), rather than re-sorting every child.
+ * <p>
+ * A drawable can be in one list of {@link #forChildren children} and one list
+ * of {@link #forAliveChildren alive children} at a time. Not thread-safe. Only
+ * {@link #add}, {@link #remove(Object)} and {@link #clear()} modify the list.
+ */
+public final class SortedChildList extends AbstractList<Drawable> {
+    /**
+     * Orders children by descending depth, then by order of addition.
+     */
+    public static final Comparator<Drawable> DRAW_ORDER = (a, b) -> {
+        int byDepth = Float.compare(b.getDepth(), a.getDepth());
+        return byDepth != 0 ? byDepth : Long.compare(a.childId, b.childId);
+    };
+
+    private static final Comparator<Entry> ENTRY_ORDER = (a, b) -> DRAW_ORDER.compare(a.drawable, b.drawable);
+
+    /**
+     * Whether this is a list of alive children, which uses the alive entries of
+     * drawables and keeps the order of addition of their list of children.
+     */
+    private final boolean alive;
+
+    private final Runnable beforeModified;
+
+    private Entry[] children = new Entry[4];
+    private int count;
+
+    /**
+     * The number of cleared slots in {@link #children}.
+     */
+    private int removedCount;
+
+    /**
+     * Children to be inserted into their sorted position.
+     */
+    private Entry[] pending = new Entry[4];
+    private int pendingCount;
+
+    private long nextChildId;
+
+    private SortedChildList(boolean alive, Runnable beforeModified) {
+        this.alive = alive;
+        this.beforeModified = beforeModified;
+    }
+
+    /**
+     * Creates a list of all children of a composite, which defines their order
+     * of addition.
+     *
+     * @param beforeModified Invoked before each modification, while the list
+     *                       still reads as it did before it.
+     */
+    public static SortedChildList forChildren(Runnable beforeModified) {
+        return new SortedChildList(false, beforeModified);
+    }
+
+    /**
+     * Creates a list of the alive children of a composite, which must be in its
+     * list of all children.
+     *
+     * @param beforeModified Invoked before each modification, while the list
+     *                       still reads as it did before it.
+     */
+    public static SortedChildList forAliveChildren(Runnable beforeModified) {
+        return new SortedChildList(true, beforeModified);
+    }
+
+    private Entry entry(Drawable drawable) {
+        return alive ? drawable.aliveEntry : drawable.childEntry;
+    }
+
+    @Override
+    public Drawable get(int index) {
+        applyPending();
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + count);
+        }
+        return children[index].drawable;
+    }
+
+    @Override
+    public int size() {
+        applyPending();
+        return count;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Drawable && entry((Drawable) o).list == this;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!contains(o)) {
+            return -1;
+        }
+
+        applyPending();
+        return entry((Drawable) o).index;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    /**
+     * Adds a child, which will be sorted into place on the next read.
+     *
+     * @throws IllegalStateException If the drawable is already in a child list.
+     */
+    @Override
+    public boolean add(Drawable drawable) {
+        Entry entry = entry(drawable);
+        if (entry.list != null) {
+            throw new IllegalStateException("Drawable is already a child");
+        }
+
+        beforeModified.run();
+        modCount++;
+
+        entry.list = this;
+        entry.index = -1;
+        if (!alive) {
+            drawable.childId = nextChildId++;
+        }
+        enqueue(entry);
+        return true;
+    }
+
+    /**
+     * Removes a child in O(1).
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (!contains(o)) {
+            return false;
+        }
+
+        beforeModified.run();
+        modCount++;
+
+        Entry entry = entry((Drawable) o);
+        detach(entry);
+        entry.list = null;
+        entry.pendingInsert = false;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        beforeModified.run();
+        modCount++;
+
+        for (int i = 0; i < count; i++) {
+            Entry entry = children[i];
+            if (entry != null) {
+                entry.list = null;
+                entry.index = -1;
+                children[i] = null;
+            }
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            Entry entry = pending[i];
+            if (entry.list == this) {
+                entry.list = null;
+                entry.pendingInsert = false;
+            }
+            pending[i] = null;
+        }
+
+        count = 0;
+        removedCount = 0;
+        pendingCount = 0;
+    }
+
+    /**
+     * Re-sorts a child whose depth has changed.
+     */
+    void depthChanged(Drawable drawable) {
+        Entry entry = entry(drawable);
+        if (entry.pendingInsert) {
+            // Will be sorted by its new depth when inserted
+            return;
+        }
+
+        beforeModified.run();
+        modCount++;
+
+        detach(entry);
+        enqueue(entry);
+    }
+
+    private void detach(Entry entry) {
+        if (entry.index >= 0) {
+            children[entry.index] = null;
+            entry.index = -1;
+            removedCount++;
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+        }
+        pending[pendingCount++] = entry;
+        entry.pendingInsert = true;
+    }
+
+    /**
+     * Removes cleared slots and merges pending children into their sorted
+     * positions.
+     */
+    private void applyPending() {
+        if (removedCount == 0 && pendingCount == 0) {
+            return;
+        }
+
+        // Drop children removed or re-added since being queued
+        int inserting = 0;
+        for (int i = 0; i < pendingCount; i++) {
+            Entry entry = pending[i];
+            pending[i] = null;
+            if (entry.list == this && entry.pendingInsert) {
+                entry.pendingInsert = false;
+                pending[inserting++] = entry;
+            }
+        }
+        pendingCount = 0;
+        Arrays.sort(pending, 0, inserting, ENTRY_ORDER);
+
+        // Compact, then merge from the back so that each child moves at most once and
+        // children before the first insertion point stay in place
+        int remaining = 0;
+        if (removedCount > 0) {
+            for (int i = 0; i < count; i++) {
+                Entry entry = children[i];
+                if (entry != null) {
+                    entry.index = remaining;
+                    children[remaining++] = entry;
+                }
+            }
+            Arrays.fill(children, remaining, count, null);
+            removedCount = 0;
+        } else {
+            remaining = count;
+        }
+
+        count = remaining + inserting;
+        if (count > children.length) {
+            children = Arrays.copyOf(children, Math.max(count, children.length * 2));
+        }
+
+        int i = remaining - 1;
+        int j = inserting - 1;
+        for (int target = count - 1; j >= 0; target--) {
+            Entry next;
+            if (i >= 0 && ENTRY_ORDER.compare(children[i], pending[j]) > 0) {
+                next = children[i--];
+            } else {
+                next = pending[j];
+                pending[j--] = null;
+            }
+            children[target] = next;
+            next.index = target;
+        }
+    }
+
+    /**
+     * The position of a drawable within a list.
+     */
+    static final class Entry {
+        final Drawable drawable;
+
+        SortedChildList list;
+        int index = -1;
+        boolean pendingInsert;
+
+        Entry(Drawable drawable) {
+            this.drawable = drawable;
+        }
+    }
+}
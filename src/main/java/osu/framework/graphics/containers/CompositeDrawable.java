@@ -1,13 +1,73 @@
 package osu.framework.graphics.containers;
 
+import osu.framework.allocation.DependencyContainer;
+import osu.framework.graphics.Color4;
+import osu.framework.graphics.DrawFrame;
 import osu.framework.graphics.Drawable;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import osu.framework.graphics.Invalidation;
+import osu.framework.graphics.InvalidationSource;
+import osu.framework.graphics.LifetimeManager;
+import osu.framework.graphics.LifetimeState;
+import osu.framework.graphics.SortedChildList;
+import osu.framework.threading.Scheduler;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 public class CompositeDrawable extends Drawable {
-    protected final List<Drawable> internalChildren = new ArrayList<>();
+    /**
+     * The pool asynchronous loads run on, leaving one core for the update thread.
+     */
+    private static final ExecutorService LOAD_POOL = new ForkJoinPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+            ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+
+    /**
+     * The children of this drawable, sorted by depth.
+     *
+     * @see SortedChildList
+     */
+    protected final List<Drawable> internalChildren = SortedChildList.forChildren(this::beforeChildrenModified);
+
+    /**
+     * The children of this drawable which are alive, in the same order as
+     * {@link #internalChildren}.
+     */
+    protected final List<Drawable> aliveInternalChildren = SortedChildList.forAliveChildren(this::beforeChildrenModified);
+
+    private final LifetimeManager lifetimeManager = new LifetimeManager(this::childLifetimeStateChanged);
+
+    /**
+     * The maximum time in milliseconds spent per frame invoking the completion
+     * callbacks of asynchronous loads. At least one callback is invoked per
+     * frame; the rest carry over to the next frame.
+     */
+    public double asyncLoadCompletionBudget = 2;
+
+    /**
+     * Whether the children are being updated, in which case they must be
+     * snapshotted before being modified.
+     */
+    private boolean updatingChildren;
+
+    /**
+     * The children as they were at the start of the current update, taken only
+     * if they were modified during it.
+     */
+    private Drawable[] updateSnapshot;
+
+    private final Queue<PendingLoad<?>> completedLoads = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean completionScheduled = new AtomicBoolean();
+
+    public CompositeDrawable() {
+        // Only leaf drawables default to Tomato, so that nesting does not tint children
+        setColour(Color4.White);
+    }
 
     protected void addInternal(Drawable drawable) {
         if (drawable.parent != null) {
@@ -15,31 +75,305 @@ public class CompositeDrawable extends Drawable {
         }
         drawable.parent = this;
         internalChildren.add(drawable);
-        // Sort by depth? For now, just append.
+        lifetimeManager.add(drawable);
+
+        drawable.invalidate(Invalidation.ALL, InvalidationSource.Parent);
+        invalidate(Invalidation.ALL, InvalidationSource.Child);
+
+        if (isLoaded && !drawable.isLoaded) {
+            drawable.load(getDependencies());
+        }
     }
 
     protected void removeInternal(Drawable drawable) {
+        if (drawable.parent != this) {
+            return;
+        }
+
         if (internalChildren.remove(drawable)) {
+            aliveInternalChildren.remove(drawable);
+            lifetimeManager.remove(drawable);
             drawable.parent = null;
+
+            drawable.invalidate(Invalidation.ALL, InvalidationSource.Parent);
+            invalidate(Invalidation.ALL, InvalidationSource.Child);
         }
     }
 
     protected void clearInternal() {
         for (Drawable d : internalChildren) {
+            lifetimeManager.remove(d);
             d.parent = null;
+            d.invalidate(Invalidation.ALL, InvalidationSource.Parent);
         }
+        aliveInternalChildren.clear();
         internalChildren.clear();
+
+        invalidate(Invalidation.ALL, InvalidationSource.Child);
     }
 
+    /**
+     * Invalidates the state of this drawable, then that of its children, which
+     * are drawn relative to it.
+     * <p>
+     * Children are only visited if some state of this drawable was valid. State
+     * of a child is only computed from state of this drawable, after computing
+     * it, so while this drawable is invalid its children already are.
+     */
+    @Override
+    public boolean invalidate(int invalidation, InvalidationSource source) {
+        if (!super.invalidate(invalidation, source)) {
+            return false;
+        }
+
+        if (source != InvalidationSource.Child) {
+            for (int i = 0; i < internalChildren.size(); i++) {
+                internalChildren.get(i).invalidate(invalidation, InvalidationSource.Parent);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Updates the alive children when the time passes a boundary of the
+     * lifetime of a child, removing it if it has expired.
+     */
+    private void childLifetimeStateChanged(Drawable child, LifetimeState state) {
+        if (state == LifetimeState.Current) {
+            aliveInternalChildren.add(child);
+            return;
+        }
+
+        aliveInternalChildren.remove(child);
+
+        if (state == LifetimeState.Past && child.removeWhenNotAlive) {
+            removeInternal(child);
+            if (child.disposeOnDeathRemoval) {
+                child.dispose();
+            }
+        }
+    }
+
+    /**
+     * Disposes this drawable and its children.
+     */
+    @Override
+    protected void dispose(boolean disposing) {
+        if (disposing) {
+            for (int i = 0; i < internalChildren.size(); i++) {
+                internalChildren.get(i).dispose();
+            }
+        }
+        super.dispose(disposing);
+    }
+
+    @Override
+    public void load(DependencyContainer dependencies) {
+        super.load(dependencies);
+
+        for (int i = 0; i < internalChildren.size(); i++) {
+            Drawable child = internalChildren.get(i);
+            if (!child.isLoaded) {
+                child.load(dependencies);
+            }
+        }
+    }
+
+    /**
+     * Loads a drawable and its subtree on a background thread, using the
+     * dependencies of this drawable.
+     * <p>
+     * Once loaded, {@code onLoaded} is invoked on the update thread through the
+     * {@link Scheduler} resolved from the dependencies, within the
+     * {@link #asyncLoadCompletionBudget}. It is typically used to add the
+     * component to this drawable.
+     * <p>
+     * Cancelling the returned future before loading starts skips loading and
+     * the callback. A load already in progress runs to completion, but the
+     * callback is still skipped. If the callback throws, the returned future
+     * completes with the exception, and other loads still complete.
+     *
+     * @param component The drawable to load. Must not be loaded or have a parent.
+     * @param onLoaded  Invoked with the loaded drawable on the update thread, may
+     *                  be null.
+     * @param <T>       The type of the drawable.
+     * @return A future completing with the drawable after {@code onLoaded} has
+     *         been invoked.
+     */
+    protected <T extends Drawable> CompletableFuture<T> loadComponentAsync(T component, Consumer<T> onLoaded) {
+        if (!isLoaded) {
+            throw new IllegalStateException("May not load components asynchronously before being loaded");
+        }
+        if (component.isLoaded || component.parent != null) {
+            throw new IllegalStateException("Drawable has already been loaded or has a parent");
+        }
+
+        DependencyContainer dependencies = getDependencies();
+        Scheduler scheduler = (Scheduler) dependencies.get(Scheduler.class);
+        if (scheduler == null) {
+            throw new IllegalStateException("No scheduler is available to complete asynchronous loads on");
+        }
+
+        PendingLoad<T> load = new PendingLoad<>(component, onLoaded);
+
+        LOAD_POOL.execute(() -> {
+            if (load.future.isDone()) {
+                return;
+            }
+
+            try {
+                component.load(dependencies);
+            } catch (Throwable e) {
+                load.future.completeExceptionally(e);
+                return;
+            }
+
+            completedLoads.add(load);
+            if (completionScheduled.compareAndSet(false, true)) {
+                scheduler.add(() -> completeLoads(scheduler));
+            }
+        });
+
+        return load.future;
+    }
+
+    /**
+     * Invokes the callbacks of completed loads within the per-frame budget,
+     * rescheduling for the next frame if any remain.
+     */
+    private void completeLoads(Scheduler scheduler) {
+        long deadline = System.nanoTime() + (long) (asyncLoadCompletionBudget * 1_000_000);
+
+        try {
+            PendingLoad<?> load;
+            do {
+                load = completedLoads.poll();
+                if (load == null) {
+                    break;
+                }
+                load.complete();
+            } while (System.nanoTime() < deadline);
+        } finally {
+            // Even if a callback failed with an error, so that later loads are still delivered
+            scheduleRemainingLoads(scheduler);
+        }
+    }
+
+    private void scheduleRemainingLoads(Scheduler scheduler) {
+        if (!completedLoads.isEmpty()) {
+            // Added during this frame's run, so runs on the next frame
+            scheduler.add(() -> completeLoads(scheduler));
+            return;
+        }
+
+        completionScheduled.set(false);
+
+        // A load may have completed after the queue was found empty but before the flag was cleared
+        if (!completedLoads.isEmpty() && completionScheduled.compareAndSet(false, true)) {
+            scheduler.add(() -> completeLoads(scheduler));
+        }
+    }
+
+    /**
+     * Updates this drawable and the alive state of its children, then every
+     * alive child.
+     * <p>
+     * Only the children added since the previous update, or whose lifetime
+     * starts or ends between it and this one, are visited to update their alive
+     * state.
+     * <p>
+     * Children are iterated in place. If they are added or removed during the
+     * update, the rest of it continues over a snapshot of the children as they
+     * were at its start, so the update only allocates when the children change.
+     */
     @Override
     public void Update() {
         super.Update();
-        // Update children
-        // Use a copy to avoid concurrent modification if update modifies the list
-        for (Drawable child : new ArrayList<>(internalChildren)) {
-            if (child.isAlive) {
-                child.Update();
+
+        if (updatingChildren) {
+            throw new IllegalStateException("Drawable is already updating its children");
+        }
+
+        // Skipped for children which are always alive, saving resolving the clock
+        if (lifetimeManager.requiresUpdate()) {
+            lifetimeManager.update(getCurrentTime());
+        }
+
+        updatingChildren = true;
+        try {
+            for (int i = 0;; i++) {
+                Drawable child;
+
+                Drawable[] snapshot = updateSnapshot;
+                if (snapshot != null) {
+                    if (i >= snapshot.length) {
+                        break;
+                    }
+                    child = snapshot[i];
+                } else {
+                    if (i >= aliveInternalChildren.size()) {
+                        break;
+                    }
+                    child = aliveInternalChildren.get(i);
+                }
+
+                if (child.isAlive()) {
+                    child.Update();
+                }
+            }
+        } finally {
+            updatingChildren = false;
+            updateSnapshot = null;
+        }
+    }
+
+    /**
+     * Adds the draw nodes of the alive children. Composites are not drawn
+     * themselves.
+     */
+    @Override
+    public void addDrawNodes(DrawFrame frame) {
+        for (int i = 0; i < aliveInternalChildren.size(); i++) {
+            aliveInternalChildren.get(i).addDrawNodes(frame);
+        }
+    }
+
+    /**
+     * Invoked by the children before they are modified, so that an ongoing
+     * update is not affected.
+     */
+    private void beforeChildrenModified() {
+        if (updatingChildren && updateSnapshot == null) {
+            updateSnapshot = aliveInternalChildren.toArray(new Drawable[0]);
+        }
+    }
+
+    private static final class PendingLoad<T extends Drawable> {
+        final T component;
+        final Consumer<T> onLoaded;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        PendingLoad(T component, Consumer<T> onLoaded) {
+            this.component = component;
+            this.onLoaded = onLoaded;
+        }
+
+        void complete() {
+            if (future.isDone()) {
+                return;
             }
+
+            if (onLoaded != null) {
+                try {
+                    onLoaded.accept(component);
+                } catch (RuntimeException e) {
+                    // Delivered through the future, without stopping other loads completing
+                    future.completeExceptionally(e);
+                    return;
+                }
+            }
+
+            future.complete(component);
         }
     }
 }
@@ -2,6 +2,8 @@ package osu.framework.graphics.containers;
 
 import osu.framework.graphics.Drawable;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class Container extends CompositeDrawable {
     public void add(Drawable drawable) {
@@ -16,7 +18,19 @@ public class Container extends CompositeDrawable {
         clearInternal();
     }
 
+    @Override
+    public <T extends Drawable> CompletableFuture<T> loadComponentAsync(T component, Consumer<T> onLoaded) {
+        return super.loadComponentAsync(component, onLoaded);
+    }
+
     public List<Drawable> getChildren() {
         return internalChildren;
     }
+
+    /**
+     * The children which are alive, and so are updated.
+     */
+    public List<Drawable> getAliveChildren() {
+        return aliveInternalChildren;
+    }
 }
@@ -13,14 +13,14 @@ public class TransformRotation extends Transform<Float> {
             if (progress < 0)
                 progress = 0;
             float val = startValue + (endValue - startValue) * (float) progress;
-            d.rotation = val;
+            d.setRotation(val);
         }
     }
 
     @Override
     public void readIntoStartValue(Object target) {
         if (target instanceof Drawable) {
-            startValue = ((Drawable) target).rotation;
+            startValue = ((Drawable) target).getRotation();
         }
     }
 }
@@ -1,14 +1,23 @@
 package osu.framework.graphics.transforms;
 
-import osu.framework.Time;
+import osu.framework.statistics.FrameStatistics;
+import osu.framework.statistics.FrameworkEvents;
+import osu.framework.statistics.StatisticsCounterType;
+import osu.framework.statistics.TransformsAppliedEvent;
+
 import java.util.ArrayList;
 import java.util.List;
 
 public abstract class Transformable {
     private final List<Transform<?>> transforms = new ArrayList<>();
 
+    /**
+     * The time transforms are started and applied at, in milliseconds.
+     */
+    protected abstract double getCurrentTime();
+
     public void addTransform(Transform<?> transform) {
-        if (transform.startTime < Time.Current) {
+        if (transform.startTime < getCurrentTime()) {
             // If we're adding a transform that should have already started,
             // make sure we capture the current state as the start value if needed.
             // For now, simplified.
@@ -17,12 +26,30 @@ public abstract class Transformable {
     }
 
     public void updateTransforms() {
-        double time = Time.Current;
+        if (transforms.isEmpty()) {
+            return;
+        }
+
+        TransformsAppliedEvent event = FrameworkEvents.TRANSFORMS.isEnabled() ? new TransformsAppliedEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+
+        double time = getCurrentTime();
+        int applied = 0;
         for (Transform<?> t : transforms) {
             if (time >= t.startTime) {
                 t.apply(this, time);
+                applied++;
             }
         }
+        FrameStatistics.add(StatisticsCounterType.TransformsApplied, applied);
+
+        if (event != null && applied > 0) {
+            event.target = getClass();
+            event.transforms = applied;
+            event.commit();
+        }
 
         // Remove completed transforms?
         transforms.removeIf(t -> time >= t.endTime);
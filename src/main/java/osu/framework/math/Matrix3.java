@@ -0,0 +1,56 @@
+package osu.framework.math;
+
+/**
+ * A 2D affine transformation, as the top two rows of a 3x3 matrix whose bottom
+ * row is {@code (0, 0, 1)}. Points are transformed as column vectors.
+ */
+public class Matrix3 {
+    public float m00 = 1;
+    public float m01;
+    public float m02;
+    public float m10;
+    public float m11 = 1;
+    public float m12;
+
+    public Matrix3 setIdentity() {
+        return set(1, 0, 0, 0, 1, 0);
+    }
+
+    public Matrix3 set(float m00, float m01, float m02, float m10, float m11, float m12) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        return this;
+    }
+
+    /**
+     * Sets this to {@code left * right}, which applies {@code right} first. Either
+     * may be this matrix.
+     */
+    public Matrix3 multiply(Matrix3 left, Matrix3 right) {
+        return set(
+                left.m00 * right.m00 + left.m01 * right.m10,
+                left.m00 * right.m01 + left.m01 * right.m11,
+                left.m00 * right.m02 + left.m01 * right.m12 + left.m02,
+                left.m10 * right.m00 + left.m11 * right.m10,
+                left.m10 * right.m01 + left.m11 * right.m11,
+                left.m10 * right.m02 + left.m11 * right.m12 + left.m12);
+    }
+
+    /**
+     * Transforms a point, writing it to {@code result}.
+     */
+    public Vector2 transform(float x, float y, Vector2 result) {
+        result.x = m00 * x + m01 * y + m02;
+        result.y = m10 * x + m11 * y + m12;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + m00 + ", " + m01 + ", " + m02 + "; " + m10 + ", " + m11 + ", " + m12 + "]";
+    }
+}
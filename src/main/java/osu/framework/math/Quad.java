@@ -0,0 +1,44 @@
+package osu.framework.math;
+
+/**
+ * A quadrilateral, such as a rectangle after being transformed.
+ */
+public class Quad {
+    public final Vector2 topLeft = new Vector2();
+    public final Vector2 topRight = new Vector2();
+    public final Vector2 bottomLeft = new Vector2();
+    public final Vector2 bottomRight = new Vector2();
+
+    /**
+     * Sets this to the rectangle from the origin to {@code (width, height)},
+     * transformed by a matrix.
+     */
+    public Quad set(float width, float height, Matrix3 matrix) {
+        matrix.transform(0, 0, topLeft);
+        matrix.transform(width, 0, topRight);
+        matrix.transform(0, height, bottomLeft);
+        matrix.transform(width, height, bottomRight);
+        return this;
+    }
+
+    /**
+     * Sets this to the vertices of another quad.
+     */
+    public Quad set(Quad other) {
+        topLeft.x = other.topLeft.x;
+        topLeft.y = other.topLeft.y;
+        topRight.x = other.topRight.x;
+        topRight.y = other.topRight.y;
+        bottomLeft.x = other.bottomLeft.x;
+        bottomLeft.y = other.bottomLeft.y;
+        bottomRight.x = other.bottomRight.x;
+        bottomRight.y = other.bottomRight.y;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "Quad{" + topLeft.x + "," + topLeft.y + " " + topRight.x + "," + topRight.y + " "
+                + bottomLeft.x + "," + bottomLeft.y + " " + bottomRight.x + "," + bottomRight.y + "}";
+    }
+}
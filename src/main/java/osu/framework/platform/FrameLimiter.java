@@ -0,0 +1,84 @@
+package osu.framework.platform;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Waits for frame deadlines with a hybrid of sleeping and spinning.
+ * <p>
+ * Sleeping alone wakes up late by an OS-dependent amount, so the limiter
+ * sleeps until shortly before the deadline and spins for the remainder. How
+ * far before the deadline it stops sleeping adapts to the oversleep observed
+ * on the current system.
+ */
+final class FrameLimiter {
+    /**
+     * The minimum time before a deadline at which sleeping stops.
+     */
+    private static final long MIN_SPIN_NANOS = 200_000;
+
+    /**
+     * A running estimate of how late sleeps wake up.
+     */
+    private long oversleepNanos = 1_000_000;
+
+    private long nextFrame = Long.MIN_VALUE;
+
+    /**
+     * Waits until one frame interval has passed since the previous frame's
+     * deadline. If the caller has fallen more than a frame behind, the limiter
+     * resynchronises to the current time rather than running frames back to
+     * back to catch up.
+     *
+     * @param intervalNanos The frame interval, or zero or less for no limit.
+     */
+    void throttle(long intervalNanos) {
+        long now = System.nanoTime();
+
+        if (intervalNanos <= 0) {
+            nextFrame = now;
+            return;
+        }
+
+        if (nextFrame == Long.MIN_VALUE || now - nextFrame > intervalNanos) {
+            nextFrame = now;
+        }
+
+        nextFrame += intervalNanos;
+        waitUntil(nextFrame);
+    }
+
+    /**
+     * Waits until a {@link System#nanoTime()} deadline, or until the current
+     * thread is interrupted.
+     */
+    void waitUntil(long deadline) {
+        Thread thread = Thread.currentThread();
+
+        long remaining = deadline - System.nanoTime();
+        while (remaining > spinNanos() && !thread.isInterrupted()) {
+            long requested = remaining - spinNanos();
+            long before = System.nanoTime();
+            LockSupport.parkNanos(requested);
+            long after = System.nanoTime();
+
+            // Exponential moving average, quick to grow and slow to shrink.
+            // Early wake-ups (spurious or interrupts) aren't an oversleep of zero, so are ignored
+            long oversleep = after - before - requested;
+            if (oversleep > oversleepNanos) {
+                oversleepNanos = (oversleepNanos + oversleep) / 2;
+            } else if (oversleep >= 0) {
+                oversleepNanos += (oversleep - oversleepNanos) / 16;
+            }
+
+            remaining = deadline - after;
+        }
+
+        while (deadline - System.nanoTime() > 0 && !thread.isInterrupted()) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private long spinNanos() {
+        return Math.max(MIN_SPIN_NANOS, oversleepNanos * 2);
+    }
+}
@@ -0,0 +1,304 @@
+package osu.framework.platform;
+
+import osu.framework.Game;
+import osu.framework.Time;
+import osu.framework.configuration.FrameSync;
+import osu.framework.graphics.DrawFrame;
+import osu.framework.statistics.FrameStatistics;
+import osu.framework.statistics.FrameworkEvents;
+import osu.framework.statistics.UpdateFrameEvent;
+import osu.framework.threading.TripleBuffer;
+
+import java.io.PrintStream;
+import osu.framework.timing.IClock;
+import osu.framework.timing.IFrameBasedClock;
+import osu.framework.timing.ManualClock;
+
+/**
+ * Runs a {@link Game} on dedicated update and draw threads.
+ * <p>
+ * The update thread runs at a fixed timestep of {@link #setUpdateRate update
+ * rate}, advancing the {@link #getUpdateClock update clock} by exactly one step
+ * per update and catching up with multiple updates after a long frame. After
+ * each update it copies the drawable hierarchy into a {@link DrawFrame}, handed
+ * to the draw thread through a {@link TripleBuffer}, so the draw thread never
+ * accesses the hierarchy and neither thread waits for the other. The draw
+ * thread is limited according to the {@link #setFrameSync frame sync} mode,
+ * relative to the {@link #setRefreshRate refresh rate}. Both threads wait for
+ * their next frame with a hybrid of sleeping and spinning.
+ */
+public class GameHost {
+    /**
+     * The maximum number of updates run back to back to catch up after a long
+     * frame. Any further time is dropped, so that a slow update cannot cause
+     * ever more updates to be run.
+     */
+    private static final int MAX_CATCH_UP_UPDATES = 5;
+
+    private final ManualClock updateClock = new ManualClock();
+
+    private final FrameStatistics updateStatistics = new FrameStatistics("Update");
+    private final FrameStatistics drawStatistics = new FrameStatistics("Draw");
+
+    private volatile double updateRate = 60;
+    private volatile double refreshRate = 60;
+    private volatile FrameSync frameSync = FrameSync.Limit2x;
+
+    private volatile boolean running;
+    private volatile Throwable failure;
+
+    private Thread updateThread;
+    private Thread drawThread;
+
+    /**
+     * Runs a game until {@link #exit()} is called, blocking the calling thread.
+     * The game must have been loaded.
+     *
+     * @param game The game to run.
+     */
+    public void run(Game game) {
+        synchronized (this) {
+            if (running) {
+                throw new IllegalStateException("Host is already running");
+            }
+            running = true;
+            failure = null;
+        }
+
+        TripleBuffer<DrawFrame> frames = new TripleBuffer<>(DrawFrame::new);
+
+        updateThread = new Thread(() -> runLoop(() -> updateLoop(game, frames)), "UpdateThread");
+        drawThread = new Thread(() -> runLoop(() -> drawLoop(game, frames)), "DrawThread");
+
+        updateThread.start();
+        drawThread.start();
+
+        try {
+            updateThread.join();
+            drawThread.join();
+        } catch (InterruptedException e) {
+            exit();
+            Thread.currentThread().interrupt();
+        }
+
+        running = false;
+
+        if (failure != null) {
+            throw new RuntimeException("Game host thread failed", failure);
+        }
+    }
+
+    /**
+     * Stops the game. May be called from any thread.
+     */
+    public void exit() {
+        running = false;
+
+        Thread update = updateThread;
+        Thread draw = drawThread;
+        if (update != null && update != Thread.currentThread()) {
+            update.interrupt();
+        }
+        if (draw != null && draw != Thread.currentThread()) {
+            draw.interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * The clock advanced by one step before each update, which the clock of the
+     * game follows.
+     */
+    public IClock getUpdateClock() {
+        return updateClock;
+    }
+
+    /**
+     * Sets the number of updates per second.
+     */
+    public void setUpdateRate(double updatesPerSecond) {
+        if (!(updatesPerSecond > 0)) {
+            throw new IllegalArgumentException("Update rate must be positive");
+        }
+        updateRate = updatesPerSecond;
+    }
+
+    public double getUpdateRate() {
+        return updateRate;
+    }
+
+    /**
+     * Sets the refresh rate of the display, which frame sync modes are relative
+     * to.
+     */
+    public void setRefreshRate(double hertz) {
+        if (!(hertz > 0)) {
+            throw new IllegalArgumentException("Refresh rate must be positive");
+        }
+        refreshRate = hertz;
+    }
+
+    public double getRefreshRate() {
+        return refreshRate;
+    }
+
+    public void setFrameSync(FrameSync frameSync) {
+        if (frameSync == null) {
+            throw new IllegalArgumentException("frameSync cannot be null");
+        }
+        this.frameSync = frameSync;
+    }
+
+    public FrameSync getFrameSync() {
+        return frameSync;
+    }
+
+    public FrameStatistics getUpdateStatistics() {
+        return updateStatistics;
+    }
+
+    public FrameStatistics getDrawStatistics() {
+        return drawStatistics;
+    }
+
+    /**
+     * Writes the statistics of recent frames of both threads.
+     *
+     * @see FrameStatistics#setEnabled(boolean)
+     */
+    public void dumpStatistics(PrintStream out) {
+        updateStatistics.dump(out);
+        drawStatistics.dump(out);
+    }
+
+    /**
+     * The interval in nanoseconds between draw frames for the current frame
+     * sync mode, or zero if unlimited.
+     */
+    private long drawInterval() {
+        double multiplier;
+        switch (frameSync) {
+            case VSync:
+                multiplier = 1;
+                break;
+            case Limit2x:
+                multiplier = 2;
+                break;
+            case Limit4x:
+                multiplier = 4;
+                break;
+            case Limit8x:
+                multiplier = 8;
+                break;
+            default:
+                return 0;
+        }
+        return (long) (1_000_000_000 / (refreshRate * multiplier));
+    }
+
+    /**
+     * Treats an interrupt of a host thread as a request to exit. The interrupt
+     * is cleared either way, as every later wait would otherwise return
+     * immediately and the thread would spin.
+     */
+    private void exitIfInterrupted() {
+        if (Thread.interrupted()) {
+            exit();
+        }
+    }
+
+    private void runLoop(Runnable loop) {
+        try {
+            loop.run();
+        } catch (Throwable e) {
+            if (failure == null) {
+                failure = e;
+            }
+            exit();
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void updateLoop(Game game, TripleBuffer<DrawFrame> frames) {
+        FrameLimiter limiter = new FrameLimiter();
+        IFrameBasedClock clock = game.getClock();
+
+        updateStatistics.bindToCurrentThread();
+        updateClock.start();
+
+        long previous = System.nanoTime();
+        long accumulated = 0;
+
+        while (running) {
+            long step = (long) (1_000_000_000 / updateRate);
+            double stepMilliseconds = step / 1_000_000.0;
+
+            long frameStart = System.nanoTime();
+            long frameTime = frameStart - previous;
+            accumulated = Math.min(accumulated + frameTime, step * MAX_CATCH_UP_UPDATES);
+            previous = frameStart;
+
+            boolean updated = false;
+
+            while (accumulated >= step && running) {
+                updateClock.setCurrentTime(updateClock.getCurrentTime() + stepMilliseconds * updateClock.getRate());
+                clock.processFrame();
+
+                Time.Elapsed = clock.getElapsedFrameTime();
+                Time.Current = clock.getCurrentTime();
+
+                UpdateFrameEvent event = FrameworkEvents.UPDATE_FRAME.isEnabled() ? new UpdateFrameEvent() : null;
+                if (event != null) {
+                    event.begin();
+                }
+
+                game.Update();
+
+                if (event != null) {
+                    event.clockTime = clock.getCurrentTime();
+                    event.commit();
+                }
+                accumulated -= step;
+                updated = true;
+            }
+
+            // Only the state after the last of any catch-up updates is drawn
+            if (updated) {
+                game.generateDrawFrame(frames.getWriteBuffer());
+                frames.publish();
+            }
+
+            long workTime = System.nanoTime() - frameStart;
+            updateStatistics.record(frameTime / 1_000_000.0, workTime / 1_000_000.0);
+
+            // Wake up when the next step has accumulated
+            limiter.waitUntil(frameStart + step - accumulated);
+            exitIfInterrupted();
+        }
+    }
+
+    private void drawLoop(Game game, TripleBuffer<DrawFrame> frames) {
+        FrameLimiter limiter = new FrameLimiter();
+
+        drawStatistics.bindToCurrentThread();
+
+        long previous = System.nanoTime();
+
+        while (running) {
+            long frameStart = System.nanoTime();
+            long frameTime = frameStart - previous;
+            previous = frameStart;
+
+            game.Draw(frames.getReadBuffer());
+
+            long workTime = System.nanoTime() - frameStart;
+            drawStatistics.record(frameTime / 1_000_000.0, workTime / 1_000_000.0);
+
+            limiter.throttle(drawInterval());
+            exitIfInterrupted();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package osu.framework.statistics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An update of an audio component, including its children.
+ */
+@Name("osu.framework.AudioComponentUpdate")
+@Label("Audio Component Update")
+@Description("An audio component running its pending actions and updating its state and children")
+@Category({ FrameworkEvents.CATEGORY, "Audio" })
+@StackTrace(false)
+public final class AudioComponentUpdateEvent extends Event {
+    @Label("Component")
+    public Class<?> component;
+
+    @Label("Pending Actions")
+    @Description("Queued audio thread actions run by the update")
+    public int pendingActions;
+}
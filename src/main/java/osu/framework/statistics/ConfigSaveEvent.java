@@ -0,0 +1,22 @@
+package osu.framework.statistics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A configuration being saved.
+ */
+@Name("osu.framework.ConfigSave")
+@Label("Config Save")
+@Description("A config manager saving its values")
+@Category({ FrameworkEvents.CATEGORY, "Configuration" })
+public final class ConfigSaveEvent extends Event {
+    @Label("Config Manager")
+    public Class<?> configManager;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
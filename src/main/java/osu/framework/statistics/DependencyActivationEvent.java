@@ -0,0 +1,19 @@
+package osu.framework.statistics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Dependencies being injected into an object.
+ */
+@Name("osu.framework.DependencyActivation")
+@Label("Dependency Activation")
+@Description("Dependencies injected into an object")
+@Category({ FrameworkEvents.CATEGORY, "Dependencies" })
+public final class DependencyActivationEvent extends Event {
+    @Label("Target")
+    public Class<?> target;
+}
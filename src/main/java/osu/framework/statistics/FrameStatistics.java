@@ -0,0 +1,399 @@
+package osu.framework.statistics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timing statistics over the most recent frames of a single thread.
+ * <p>
+ * Frames are recorded by the owning thread into a fixed-size ring buffer, so
+ * recording does not allocate. Statistics may be queried from any thread.
+ * <p>
+ * While {@link #setEnabled enabled}, each frame additionally records the
+ * {@link StatisticsCounterType counters} incremented and the
+ * {@link PerformanceCollectionType sections} timed on the owning thread, along
+ * with the bytes it allocated. While disabled, instrumented code only pays for
+ * reading a flag.
+ */
+public class FrameStatistics {
+    /**
+     * The number of recent frames statistics are computed over.
+     */
+    public static final int HISTORY_LENGTH = 256;
+
+    private static final StatisticsCounterType[] COUNTER_TYPES = StatisticsCounterType.values();
+    private static final PerformanceCollectionType[] SECTION_TYPES = PerformanceCollectionType.values();
+
+    private static volatile boolean enabled;
+
+    /**
+     * The statistics collecting counters for each thread.
+     */
+    private static final ThreadLocal<FrameStatistics> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Counters incremented on threads without statistics.
+     */
+    private static final LongAdder[] UNTRACKED = new LongAdder[COUNTER_TYPES.length];
+
+    static {
+        for (int i = 0; i < UNTRACKED.length; i++) {
+            UNTRACKED[i] = new LongAdder();
+        }
+    }
+
+    private final String name;
+
+    private final double[] frameTimes = new double[HISTORY_LENGTH];
+    private final double[] workTimes = new double[HISTORY_LENGTH];
+    private final long[][] counts = new long[COUNTER_TYPES.length][HISTORY_LENGTH];
+    private final double[][] sectionTimes = new double[SECTION_TYPES.length][HISTORY_LENGTH];
+    private final long[] allocatedBytes = new long[HISTORY_LENGTH];
+    private final long[] totalCounts = new long[COUNTER_TYPES.length];
+    private int index;
+    private int recorded;
+    private long frameCount;
+
+    // Accumulated by the owning thread during the current frame
+    private Thread owner;
+    private final long[] pendingCounts = new long[COUNTER_TYPES.length];
+    private final long[] pendingSectionNanos = new long[SECTION_TYPES.length];
+    private long lastAllocatedBytes = -1;
+
+    public FrameStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Enables or disables collecting counters, section timings and allocations.
+     * Frame timings are always recorded.
+     */
+    public static void setEnabled(boolean enabled) {
+        FrameStatistics.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Increments a counter of the current thread's frame.
+     */
+    public static void increment(StatisticsCounterType type) {
+        if (enabled) {
+            count(type, 1);
+        }
+    }
+
+    /**
+     * Adds to a counter of the current thread's frame.
+     */
+    public static void add(StatisticsCounterType type, long amount) {
+        if (enabled) {
+            count(type, amount);
+        }
+    }
+
+    /**
+     * Starts timing a section of the current thread's frame.
+     *
+     * @return The start of the section, to pass to {@link #endSection}.
+     */
+    public static long beginSection() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Stops timing a section of the current thread's frame. Sections of the same
+     * type are summed over the frame, and must not be nested.
+     *
+     * @param start The value returned by {@link #beginSection()}.
+     */
+    public static void endSection(PerformanceCollectionType type, long start) {
+        if (start == 0 || !enabled) {
+            return;
+        }
+
+        FrameStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.pendingSectionNanos[type.ordinal()] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * The total of a counter incremented on threads which are not bound to any
+     * statistics.
+     */
+    public static long getUntrackedCount(StatisticsCounterType type) {
+        return UNTRACKED[type.ordinal()].sum();
+    }
+
+    private static void count(StatisticsCounterType type, long amount) {
+        FrameStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.pendingCounts[type.ordinal()] += amount;
+        } else {
+            UNTRACKED[type.ordinal()].add(amount);
+        }
+    }
+
+    /**
+     * Makes these statistics collect the counters and sections of the current
+     * thread, which must be the thread recording frames.
+     */
+    public void bindToCurrentThread() {
+        FrameStatistics previous = CURRENT.get();
+        if (previous != null) {
+            previous.owner = null;
+        }
+
+        owner = Thread.currentThread();
+        CURRENT.set(this);
+        lastAllocatedBytes = -1;
+    }
+
+    /**
+     * The name of the thread these statistics are for.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records a frame.
+     *
+     * @param frameTime The time in milliseconds since the start of the previous
+     *                  frame, including any time spent waiting.
+     * @param workTime  The time in milliseconds spent doing work in the frame.
+     */
+    public synchronized void record(double frameTime, double workTime) {
+        frameTimes[index] = frameTime;
+        workTimes[index] = workTime;
+
+        for (int i = 0; i < pendingCounts.length; i++) {
+            counts[i][index] = pendingCounts[i];
+            totalCounts[i] += pendingCounts[i];
+            pendingCounts[i] = 0;
+        }
+
+        for (int i = 0; i < pendingSectionNanos.length; i++) {
+            sectionTimes[i][index] = pendingSectionNanos[i] / 1_000_000.0;
+            pendingSectionNanos[i] = 0;
+        }
+
+        allocatedBytes[index] = measureAllocatedBytes();
+
+        index = (index + 1) % HISTORY_LENGTH;
+        recorded = Math.min(recorded + 1, HISTORY_LENGTH);
+        frameCount++;
+    }
+
+    /**
+     * The bytes allocated by the owning thread since the previous frame, or zero
+     * if not enabled or not supported.
+     */
+    private long measureAllocatedBytes() {
+        if (!enabled || owner != Thread.currentThread() || AllocationCounter.BEAN == null) {
+            lastAllocatedBytes = -1;
+            return 0;
+        }
+
+        long allocated = AllocationCounter.BEAN.getCurrentThreadAllocatedBytes();
+        long frameAllocated = lastAllocatedBytes < 0 ? 0 : allocated - lastAllocatedBytes;
+        lastAllocatedBytes = allocated;
+        return frameAllocated;
+    }
+
+    /**
+     * The total number of frames recorded.
+     */
+    public synchronized long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * The average time in milliseconds between the starts of recent frames.
+     */
+    public synchronized double getAverageFrameTime() {
+        return average(frameTimes);
+    }
+
+    /**
+     * The longest time in milliseconds between the starts of recent frames.
+     */
+    public synchronized double getMaximumFrameTime() {
+        double max = 0;
+        for (int i = 0; i < recorded; i++) {
+            max = Math.max(max, frameTimes[i]);
+        }
+        return max;
+    }
+
+    /**
+     * The average time in milliseconds recent frames spent doing work.
+     */
+    public synchronized double getAverageWorkTime() {
+        return average(workTimes);
+    }
+
+    /**
+     * The number of frames per second, based on recent frames.
+     */
+    public synchronized double getFramesPerSecond() {
+        double average = average(frameTimes);
+        return average == 0 ? 0 : 1000 / average;
+    }
+
+    /**
+     * The value of a counter in the most recently recorded frame.
+     */
+    public synchronized long getLastCount(StatisticsCounterType type) {
+        return recorded == 0 ? 0 : counts[type.ordinal()][previousIndex()];
+    }
+
+    /**
+     * The average value of a counter over recent frames.
+     */
+    public synchronized double getAverageCount(StatisticsCounterType type) {
+        return average(counts[type.ordinal()]);
+    }
+
+    /**
+     * The total of a counter over all recorded frames.
+     */
+    public synchronized long getTotalCount(StatisticsCounterType type) {
+        return totalCounts[type.ordinal()];
+    }
+
+    /**
+     * The average time in milliseconds recent frames spent in a section.
+     */
+    public synchronized double getAverageSectionTime(PerformanceCollectionType type) {
+        return average(sectionTimes[type.ordinal()]);
+    }
+
+    /**
+     * The bytes allocated by the owning thread in the most recently recorded
+     * frame.
+     */
+    public synchronized long getLastAllocatedBytes() {
+        return recorded == 0 ? 0 : allocatedBytes[previousIndex()];
+    }
+
+    /**
+     * The average bytes allocated by the owning thread over recent frames.
+     */
+    public synchronized double getAverageAllocatedBytes() {
+        return average(allocatedBytes);
+    }
+
+    /**
+     * Writes every recent frame, oldest first, as a table.
+     */
+    public synchronized void dump(PrintStream out) {
+        out.println(this);
+
+        StringBuilder header = new StringBuilder("frame\tframe ms\twork ms");
+        for (PerformanceCollectionType type : SECTION_TYPES) {
+            header.append('\t').append(type).append(" ms");
+        }
+        for (StatisticsCounterType type : COUNTER_TYPES) {
+            header.append('\t').append(type);
+        }
+        header.append("\tallocated bytes");
+        out.println(header);
+
+        for (int i = 0; i < recorded; i++) {
+            int frame = (index - recorded + i + HISTORY_LENGTH) % HISTORY_LENGTH;
+
+            StringBuilder line = new StringBuilder();
+            line.append(frameCount - recorded + i)
+                    .append('\t').append(String.format("%.3f", frameTimes[frame]))
+                    .append('\t').append(String.format("%.3f", workTimes[frame]));
+            for (double[] times : sectionTimes) {
+                line.append('\t').append(String.format("%.3f", times[frame]));
+            }
+            for (long[] count : counts) {
+                line.append('\t').append(count[frame]);
+            }
+            line.append('\t').append(allocatedBytes[frame]);
+            out.println(line);
+        }
+    }
+
+    private int previousIndex() {
+        return (index - 1 + HISTORY_LENGTH) % HISTORY_LENGTH;
+    }
+
+    private double average(double[] values) {
+        if (recorded == 0) {
+            return 0;
+        }
+
+        double sum = 0;
+        for (int i = 0; i < recorded; i++) {
+            sum += values[i];
+        }
+        return sum / recorded;
+    }
+
+    private double average(long[] values) {
+        if (recorded == 0) {
+            return 0;
+        }
+
+        long sum = 0;
+        for (int i = 0; i < recorded; i++) {
+            sum += values[i];
+        }
+        return (double) sum / recorded;
+    }
+
+    @Override
+    public synchronized String toString() {
+        String summary = String.format("%s: %.1f fps, frame %.2f ms (max %.2f ms), work %.2f ms", name,
+                getFramesPerSecond(), getAverageFrameTime(), getMaximumFrameTime(), getAverageWorkTime());
+        if (!enabled) {
+            return summary;
+        }
+
+        StringBuilder builder = new StringBuilder(summary);
+        for (PerformanceCollectionType type : SECTION_TYPES) {
+            builder.append(String.format(", %s %.2f ms", type, getAverageSectionTime(type)));
+        }
+        for (StatisticsCounterType type : COUNTER_TYPES) {
+            builder.append(String.format(", %s %.1f", type, getAverageCount(type)));
+        }
+        builder.append(String.format(", allocated %.0f B", getAverageAllocatedBytes()));
+        return builder.toString();
+    }
+
+    /**
+     * Lazily resolves the bean measuring per-thread allocation, which is not
+     * available on every JVM.
+     */
+    private static final class AllocationCounter {
+        static final com.sun.management.ThreadMXBean BEAN = resolve();
+
+        private static com.sun.management.ThreadMXBean resolve() {
+            try {
+                java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+                if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+                    return null;
+                }
+
+                com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threads;
+                if (bean.isThreadAllocatedMemorySupported()) {
+                    if (!bean.isThreadAllocatedMemoryEnabled()) {
+                        bean.setThreadAllocatedMemoryEnabled(true);
+                    }
+                    return bean;
+                }
+            } catch (LinkageError | UnsupportedOperationException | SecurityException e) {
+                // Not available on this JVM
+            }
+            return null;
+        }
+    }
+}
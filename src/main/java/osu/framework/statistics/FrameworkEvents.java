@@ -0,0 +1,28 @@
+package osu.framework.statistics;
+
+import jdk.jfr.EventType;
+
+/**
+ * The Flight Recorder event types emitted by the framework.
+ * <p>
+ * Instrumented code checks {@link EventType#isEnabled()} before creating an
+ * event, so while no recording is enabling an event type, emitting it costs a
+ * field read. Event types are registered with the recorder when this class is
+ * first used.
+ */
+public final class FrameworkEvents {
+    /**
+     * The category all framework events are listed under.
+     */
+    public static final String CATEGORY = "osu!framework";
+
+    public static final EventType UPDATE_FRAME = EventType.getEventType(UpdateFrameEvent.class);
+    public static final EventType SCHEDULER_DRAIN = EventType.getEventType(SchedulerDrainEvent.class);
+    public static final EventType TRANSFORMS = EventType.getEventType(TransformsAppliedEvent.class);
+    public static final EventType DEPENDENCY_ACTIVATION = EventType.getEventType(DependencyActivationEvent.class);
+    public static final EventType CONFIG_SAVE = EventType.getEventType(ConfigSaveEvent.class);
+    public static final EventType AUDIO_UPDATE = EventType.getEventType(AudioComponentUpdateEvent.class);
+
+    private FrameworkEvents() {
+    }
+}
@@ -0,0 +1,21 @@
+package osu.framework.statistics;
+
+/**
+ * Sections of a frame timed by {@link FrameStatistics} while enabled.
+ */
+public enum PerformanceCollectionType {
+    /**
+     * Running scheduled tasks.
+     */
+    Scheduler,
+
+    /**
+     * Updating the drawable hierarchy.
+     */
+    Update,
+
+    /**
+     * Copying the drawable hierarchy into the frame handed to the draw thread.
+     */
+    GenerateDrawNodes
+}
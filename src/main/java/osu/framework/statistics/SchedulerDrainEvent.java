@@ -0,0 +1,26 @@
+package osu.framework.statistics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An update of a scheduler, running its due tasks.
+ */
+@Name("osu.framework.SchedulerDrain")
+@Label("Scheduler Drain")
+@Description("A scheduler update running due tasks")
+@Category({ FrameworkEvents.CATEGORY, "Scheduling" })
+@StackTrace(false)
+public final class SchedulerDrainEvent extends Event {
+    @Label("Clock Time")
+    @Description("The time of the scheduler's clock in milliseconds")
+    public double clockTime;
+
+    @Label("Deferred Tasks")
+    @Description("Due tasks left for the next update because of the frame budget")
+    public int deferredTasks;
+}
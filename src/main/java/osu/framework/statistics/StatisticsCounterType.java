@@ -0,0 +1,36 @@
+package osu.framework.statistics;
+
+/**
+ * Events counted per frame by {@link FrameStatistics} while enabled.
+ */
+public enum StatisticsCounterType {
+    /**
+     * Scheduler tasks run.
+     */
+    ScheduledTasks,
+
+    /**
+     * Transforms applied to drawables.
+     */
+    TransformsApplied,
+
+    /**
+     * Bindable value changed listeners invoked.
+     */
+    BindableNotifications,
+
+    /**
+     * Objects which have had dependencies injected.
+     */
+    DependencyInjections,
+
+    /**
+     * Audio components updated.
+     */
+    AudioComponentUpdates,
+
+    /**
+     * Draw matrices of drawables recomputed after being invalidated.
+     */
+    DrawMatrixComputations
+}
@@ -0,0 +1,24 @@
+package osu.framework.statistics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Transforms being applied to a drawable.
+ */
+@Name("osu.framework.TransformsApplied")
+@Label("Transforms Applied")
+@Description("Transforms applied to a drawable in an update")
+@Category({ FrameworkEvents.CATEGORY, "Drawables" })
+@StackTrace(false)
+public final class TransformsAppliedEvent extends Event {
+    @Label("Target")
+    public Class<?> target;
+
+    @Label("Transforms")
+    public int transforms;
+}
@@ -0,0 +1,22 @@
+package osu.framework.statistics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A single update of a game by its host.
+ */
+@Name("osu.framework.UpdateFrame")
+@Label("Update Frame")
+@Description("A single fixed timestep update of the game")
+@Category({ FrameworkEvents.CATEGORY, "Frames" })
+@StackTrace(false)
+public final class UpdateFrameEvent extends Event {
+    @Label("Clock Time")
+    @Description("The time of the game clock in milliseconds")
+    public double clockTime;
+}
@@ -0,0 +1,13 @@
+package osu.framework.threading;
+
+/**
+ * An action run by a {@link PooledDelegate}, reading its arguments from the
+ * payload slots of the delegate.
+ * <p>
+ * To avoid allocating, implementations should not capture any variables,
+ * e.g. a static method reference.
+ */
+@FunctionalInterface
+public interface IPooledDelegateAction {
+    void run(PooledDelegate delegate);
+}
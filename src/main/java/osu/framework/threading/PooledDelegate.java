@@ -0,0 +1,108 @@
+package osu.framework.threading;
+
+import osu.framework.statistics.FrameStatistics;
+import osu.framework.statistics.StatisticsCounterType;
+
+/**
+ * A reusable delegate with primitive payload slots, for scheduling
+ * high-frequency tasks without allocating.
+ * <p>
+ * Obtained from {@link Scheduler#obtain}, filled in, and scheduled with
+ * {@link Scheduler#addPooled}. Once it has run or been cancelled, it is
+ * returned to the scheduler's pool and must no longer be used. To cancel it
+ * from code which may hold on to it longer, keep its {@link #getGeneration()
+ * generation} and use {@link #cancel(long)}, which has no effect once it has
+ * been handed out again.
+ *
+ * <pre>
+ * PooledDelegate delegate = scheduler.obtain(Explosion::spawn);
+ * delegate.target = playfield;
+ * delegate.double0 = x;
+ * delegate.double1 = y;
+ * scheduler.addPooled(delegate, 100);
+ * </pre>
+ */
+public final class PooledDelegate extends ScheduledDelegate {
+    static final int IN_POOL = 0;
+    static final int OBTAINED = 1;
+    static final int SCHEDULED = 2;
+
+    public Object target;
+    public long long0;
+    public long long1;
+    public double double0;
+    public double double1;
+
+    IPooledDelegateAction action;
+    int state = IN_POOL;
+
+    private volatile long generation;
+
+    PooledDelegate(Scheduler scheduler) {
+        super(scheduler, null, 0, -1);
+    }
+
+    /**
+     * Identifies the current use of this delegate. Changes each time it is
+     * obtained from the pool.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Cancels this delegate if it is still in the use identified by a
+     * generation, so that a stale reference cannot cancel a later use.
+     *
+     * @param generation The {@link #getGeneration() generation} when obtained.
+     * @return Whether the generation was current.
+     */
+    public synchronized boolean cancel(long generation) {
+        if (this.generation != generation) {
+            return false;
+        }
+
+        cancel();
+        return true;
+    }
+
+    /**
+     * Prepares this delegate for a new use after being taken from the pool.
+     */
+    synchronized void reuse(IPooledDelegateAction action) {
+        generation++;
+        resetCancelled();
+        this.action = action;
+        state = OBTAINED;
+    }
+
+    @Override
+    void onRemoved() {
+        scheduler.release(this);
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (!isCancelled()) {
+                action.run(this);
+                FrameStatistics.increment(StatisticsCounterType.ScheduledTasks);
+            }
+        } finally {
+            scheduler.release(this);
+        }
+    }
+
+    /**
+     * Clears the payload so that it does not retain references while pooled.
+     * The cancelled state is kept until the delegate is {@link #reuse reused}.
+     */
+    void clear() {
+        action = null;
+        target = null;
+        long0 = 0;
+        long1 = 0;
+        double0 = 0;
+        double1 = 0;
+    }
+}
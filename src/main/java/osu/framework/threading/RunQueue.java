@@ -0,0 +1,98 @@
+package osu.framework.threading;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An unbounded lock-free multi-producer, single-consumer queue of tasks.
+ * Any thread may {@link #add} without blocking; only the update thread may
+ * {@link #runPending}.
+ */
+final class RunQueue {
+    /**
+     * The last node, which producers swap themselves in as.
+     */
+    private final AtomicReference<Node> tail;
+
+    /**
+     * The last consumed node, whose successor is the next to run. Only accessed
+     * by the consumer.
+     */
+    private Node head;
+
+    RunQueue() {
+        Node stub = new Node(null);
+        head = stub;
+        tail = new AtomicReference<>(stub);
+    }
+
+    void add(Runnable task) {
+        Node node = new Node(task);
+        Node previous = tail.getAndSet(node);
+        // Between the swap and this link the queue appears to end at the previous node,
+        // which only delays the consumer seeing this task
+        previous.next = node;
+    }
+
+    /**
+     * Runs the tasks added before this call. Tasks added while running are left
+     * for the next call.
+     *
+     * @param deadline The {@link System#nanoTime()} after which no more tasks are
+     *                 started, or {@link Long#MAX_VALUE} for no limit.
+     * @param ranAny   Whether a task has already been run this update. If not, at
+     *                 least one task is run regardless of the deadline.
+     * @return The number of tasks left unrun because the deadline passed.
+     */
+    int runPending(long deadline, boolean ranAny) {
+        Node last = tail.get();
+        Node current = head;
+        boolean checkDeadline = deadline != Long.MAX_VALUE;
+
+        while (current != last) {
+            Node next = current.next;
+            if (next == null) {
+                // A producer has claimed its position but not linked it yet
+                break;
+            }
+
+            if (checkDeadline && ranAny && System.nanoTime() - deadline >= 0) {
+                return countPending(current, last);
+            }
+
+            Runnable task = next.task;
+            next.task = null;
+            head = next;
+            current = next;
+            ranAny = true;
+
+            task.run();
+        }
+
+        return 0;
+    }
+
+    /**
+     * The number of tasks which have been added and not yet run.
+     */
+    int countPending() {
+        return countPending(head, tail.get());
+    }
+
+    private static int countPending(Node current, Node last) {
+        int count = 0;
+        while (current != last && current.next != null) {
+            current = current.next;
+            count++;
+        }
+        return count;
+    }
+
+    private static final class Node {
+        Runnable task;
+        volatile Node next;
+
+        Node(Runnable task) {
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package osu.framework.threading;
+
+import osu.framework.statistics.FrameStatistics;
+import osu.framework.statistics.StatisticsCounterType;
+
+/**
+ * A task scheduled on a {@link Scheduler}, which may be cancelled before it
+ * runs. Repeating delegates run until cancelled, even if a run throws.
+ */
+public class ScheduledDelegate implements Runnable {
+    final Scheduler scheduler;
+    private final Runnable task;
+
+    /**
+     * The time at which this delegate next becomes due. Only changed by the
+     * update thread while the delegate is not scheduled.
+     */
+    double executionTime;
+
+    /**
+     * The interval between runs of a repeating delegate, or negative if it runs
+     * once.
+     */
+    private final double repeatInterval;
+
+    private volatile boolean cancelled;
+
+    // Links within a timer wheel slot, guarded by the wheel
+    TimerWheel wheel;
+    ScheduledDelegate previous;
+    ScheduledDelegate next;
+    int level;
+    int slot;
+
+    ScheduledDelegate(Scheduler scheduler, Runnable task, double executionTime, double repeatInterval) {
+        this.scheduler = scheduler;
+        this.task = task;
+        this.executionTime = executionTime;
+        this.repeatInterval = repeatInterval;
+    }
+
+    /**
+     * Prevents this delegate from running, if it has not already. A repeating
+     * delegate stops repeating.
+     */
+    public void cancel() {
+        cancelled = true;
+
+        TimerWheel wheel = this.wheel;
+        if (wheel != null && wheel.remove(this)) {
+            onRemoved();
+        }
+    }
+
+    /**
+     * Whether this delegate has been cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Whether this delegate runs repeatedly until cancelled.
+     */
+    public boolean isRepeating() {
+        return repeatInterval >= 0;
+    }
+
+    /**
+     * The time at which this delegate next becomes due.
+     */
+    public double getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Invoked when this delegate has been cancelled before becoming due, and
+     * will therefore never run.
+     */
+    void onRemoved() {
+    }
+
+    /**
+     * Clears the cancelled state, so that the delegate can be reused.
+     */
+    void resetCancelled() {
+        cancelled = false;
+    }
+
+    @Override
+    public void run() {
+        if (cancelled) {
+            return;
+        }
+
+        try {
+            task.run();
+            FrameStatistics.increment(StatisticsCounterType.ScheduledTasks);
+        } finally {
+            // A repeating task which throws keeps repeating, the exception still propagates
+            if (repeatInterval >= 0 && !cancelled) {
+                scheduler.reschedule(this, repeatInterval);
+            }
+        }
+    }
+}
@@ -1,58 +1,276 @@
 package osu.framework.threading;
 
-import osu.framework.Time;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.PriorityQueue;
+import osu.framework.statistics.FrameworkEvents;
+import osu.framework.statistics.SchedulerDrainEvent;
+import osu.framework.timing.IClock;
+import osu.framework.timing.StopwatchClock;
 
 public class Scheduler {
-    private final List<Runnable> runQueue = new ArrayList<>();
-    private final PriorityQueue<ScheduledTask> timedTasks = new PriorityQueue<>(
-            Comparator.comparingDouble(t -> t.executionTime));
+    /**
+     * The maximum number of idle {@link PooledDelegate}s retained for reuse.
+     */
+    private static final int MAX_POOLED_DELEGATES = 1024;
 
-    public void add(Runnable task) {
-        synchronized (runQueue) {
-            runQueue.add(task);
+    private final IClock clock;
+
+    private final RunQueue runQueue = new RunQueue();
+    private final TimerWheel timedTasks;
+
+    private final PooledDelegate[] pool = new PooledDelegate[MAX_POOLED_DELEGATES];
+    private int pooledCount;
+
+    private volatile double frameBudget = Double.POSITIVE_INFINITY;
+
+    private int deferredTaskCount;
+    private long totalDeferredTaskCount;
+
+    /**
+     * Creates a scheduler timed by its own real time clock.
+     */
+    public Scheduler() {
+        this(new StopwatchClock(true));
+    }
+
+    /**
+     * Creates a scheduler timed by a clock. Delays are measured in the time of
+     * the clock, so they scale with its rate. Timed tasks are not moved if the
+     * clock seeks backwards.
+     *
+     * @param clock The clock, which is read on every update and whenever a
+     *              delayed task is scheduled.
+     */
+    public Scheduler(IClock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("clock cannot be null");
+        }
+        this.clock = clock;
+        timedTasks = new TimerWheel(clock.getCurrentTime());
+    }
+
+    public IClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Schedules a task to be run on the next update. May be called from any
+     * thread, and never blocks.
+     *
+     * @return A handle which can be used to cancel the task.
+     */
+    public ScheduledDelegate add(Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("task cannot be null");
+        }
+
+        ScheduledDelegate delegate = new ScheduledDelegate(this, task, clock.getCurrentTime(), -1);
+        runQueue.add(delegate);
+        return delegate;
+    }
+
+    /**
+     * Schedules a task to be run on the first update at least {@code delay}
+     * milliseconds from now. May be called from any thread.
+     *
+     * @return A handle which can be used to cancel the task.
+     */
+    public ScheduledDelegate addDelayed(Runnable task, double delay) {
+        if (task == null) {
+            throw new IllegalArgumentException("task cannot be null");
+        }
+
+        return schedule(new ScheduledDelegate(this, task, clock.getCurrentTime() + delay, -1));
+    }
+
+    /**
+     * Schedules a task to be run every {@code interval} milliseconds, starting
+     * {@code interval} milliseconds from now, until cancelled. Runs missed due
+     * to long frames are skipped rather than caught up on. May be called from
+     * any thread.
+     *
+     * @param interval The interval between runs. Zero runs the task every update.
+     * @return A handle which can be used to cancel the task.
+     */
+    public ScheduledDelegate addRepeating(Runnable task, double interval) {
+        if (task == null) {
+            throw new IllegalArgumentException("task cannot be null");
+        }
+        if (!(interval >= 0)) {
+            throw new IllegalArgumentException("interval must be non-negative");
+        }
+
+        return schedule(new ScheduledDelegate(this, task, clock.getCurrentTime() + interval, interval));
+    }
+
+    /**
+     * Obtains a {@link PooledDelegate} from this scheduler's pool, allocating one
+     * only if the pool is empty. May be called from any thread.
+     *
+     * @param action The action to run, which should not capture any variables.
+     * @return The delegate, to be filled in and passed to {@link #addPooled}.
+     */
+    public PooledDelegate obtain(IPooledDelegateAction action) {
+        if (action == null) {
+            throw new IllegalArgumentException("action cannot be null");
+        }
+
+        PooledDelegate delegate = null;
+        synchronized (pool) {
+            if (pooledCount > 0) {
+                delegate = pool[--pooledCount];
+                pool[pooledCount] = null;
+            }
+        }
+
+        if (delegate == null) {
+            delegate = new PooledDelegate(this);
         }
+
+        delegate.reuse(action);
+        return delegate;
+    }
+
+    /**
+     * Schedules a pooled delegate to be run on the next update.
+     *
+     * @see #addPooled(PooledDelegate, double)
+     */
+    public void addPooled(PooledDelegate delegate) {
+        addPooled(delegate, 0);
+    }
+
+    /**
+     * Schedules a pooled delegate to be run on the first update at least
+     * {@code delay} milliseconds from now. Does not allocate. May be called from
+     * any thread.
+     *
+     * @param delegate A delegate obtained from this scheduler and not yet
+     *                 scheduled.
+     */
+    public void addPooled(PooledDelegate delegate, double delay) {
+        if (delegate.scheduler != this || delegate.state != PooledDelegate.OBTAINED) {
+            throw new IllegalStateException(
+                    "Delegate was not obtained from this scheduler, or has already been scheduled");
+        }
+
+        delegate.state = PooledDelegate.SCHEDULED;
+        delegate.executionTime = clock.getCurrentTime() + delay;
+        timedTasks.schedule(delegate);
     }
 
-    public void addDelayed(Runnable task, double delay) {
-        synchronized (timedTasks) {
-            timedTasks.add(new ScheduledTask(task, Time.Current + delay));
+    /**
+     * Returns a pooled delegate which has run or been cancelled to the pool.
+     */
+    void release(PooledDelegate delegate) {
+        if (delegate.state == PooledDelegate.IN_POOL) {
+            return;
         }
+
+        delegate.clear();
+        delegate.state = PooledDelegate.IN_POOL;
+
+        synchronized (pool) {
+            if (pooledCount < pool.length) {
+                pool[pooledCount++] = delegate;
+            }
+        }
+    }
+
+    /**
+     * Sets the maximum time in milliseconds spent running tasks per update.
+     * At least one task is run per update; tasks over budget carry over to the
+     * next update, ahead of newly scheduled ones.
+     *
+     * @param milliseconds The budget, or {@link Double#POSITIVE_INFINITY} to run
+     *                     all due tasks every update.
+     */
+    public void setFrameBudget(double milliseconds) {
+        if (!(milliseconds >= 0)) {
+            throw new IllegalArgumentException("budget must be non-negative");
+        }
+        frameBudget = milliseconds;
+    }
+
+    public double getFrameBudget() {
+        return frameBudget;
+    }
+
+    /**
+     * The number of tasks which were left pending when the last update ran out
+     * of its frame budget.
+     */
+    public int getDeferredTaskCount() {
+        return deferredTaskCount;
+    }
+
+    /**
+     * The total number of times a due task has been carried over to a later
+     * update because of the frame budget.
+     */
+    public long getTotalDeferredTaskCount() {
+        return totalDeferredTaskCount;
     }
 
     public void update() {
-        double currentTime = Time.Current;
+        SchedulerDrainEvent event = FrameworkEvents.SCHEDULER_DRAIN.isEnabled() ? new SchedulerDrainEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+
+        double currentTime = clock.getCurrentTime();
+
+        double budget = frameBudget;
+        long deadline = budget == Double.POSITIVE_INFINITY
+                ? Long.MAX_VALUE
+                : System.nanoTime() + (long) (budget * 1_000_000);
 
         // Process timed tasks
-        synchronized (timedTasks) {
-            while (!timedTasks.isEmpty() && timedTasks.peek().executionTime <= currentTime) {
-                ScheduledTask task = timedTasks.poll();
-                add(task.task);
+        timedTasks.advance(currentTime);
+
+        boolean ranAny = false;
+        int deferred = -1;
+
+        while (timedTasks.getDueCount() > 0) {
+            if (deadline != Long.MAX_VALUE && ranAny && System.nanoTime() - deadline >= 0) {
+                deferred = timedTasks.getDueCount() + runQueue.countPending();
+                break;
             }
+
+            ranAny = true;
+            timedTasks.pollDue().run();
         }
 
         // Process run queue
-        List<Runnable> toRun;
-        synchronized (runQueue) {
-            toRun = new ArrayList<>(runQueue);
-            runQueue.clear();
+        if (deferred < 0) {
+            deferred = runQueue.runPending(deadline, ranAny);
         }
 
-        for (Runnable task : toRun) {
-            task.run();
+        deferredTaskCount = deferred;
+        totalDeferredTaskCount += deferred;
+
+        if (event != null) {
+            event.clockTime = currentTime;
+            event.deferredTasks = deferred;
+            event.commit();
         }
     }
 
-    private static class ScheduledTask {
-        Runnable task;
-        double executionTime;
+    /**
+     * Schedules the next run of a repeating delegate which has just run.
+     */
+    void reschedule(ScheduledDelegate delegate, double interval) {
+        double currentTime = clock.getCurrentTime();
 
-        ScheduledTask(Runnable task, double executionTime) {
-            this.task = task;
-            this.executionTime = executionTime;
+        double next = delegate.executionTime + interval;
+        if (next <= currentTime) {
+            next = currentTime + interval;
         }
+
+        delegate.executionTime = next;
+        schedule(delegate);
+    }
+
+    private ScheduledDelegate schedule(ScheduledDelegate delegate) {
+        timedTasks.schedule(delegate);
+        return delegate;
     }
 }
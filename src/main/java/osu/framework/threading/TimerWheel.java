@@ -0,0 +1,280 @@
+package osu.framework.threading;
+
+/**
+ * A hashed hierarchical timing wheel of {@link ScheduledDelegate}s, with
+ * millisecond ticks.
+ * <p>
+ * Each level has 64 slots, each covering 64 times the span of a slot on the
+ * level below. A delegate is placed on the lowest level whose slot can tell it
+ * apart from the current tick, and cascades down a level each time the wheel
+ * reaches the start of its slot. Scheduling, cancelling and expiring a
+ * delegate are O(1), and per-level occupancy bitmaps let the wheel skip
+ * straight to the next occupied slot.
+ * <p>
+ * Scheduling and removing are thread-safe. The wheel does not move
+ * backwards: delegates scheduled before the current tick are due on the next
+ * advance. Due delegates are collected into an intrusive list which only the
+ * update thread may {@link #advance} and {@link #pollDue poll}, so expiring
+ * does not allocate.
+ */
+final class TimerWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+
+    /**
+     * Delegates too far in the future for the top level, re-inserted each time
+     * the top level wraps around.
+     */
+    private static final int OVERFLOW = LEVELS;
+
+    private final ScheduledDelegate[][] slots = new ScheduledDelegate[LEVELS + 1][SLOTS];
+    private final long[] occupied = new long[LEVELS];
+
+    /**
+     * The tick at which the wheel currently is. Every tick before it has been
+     * expired.
+     */
+    private long tick;
+
+    private int count;
+
+    // Due delegates, linked through their next field. Only accessed by the update thread
+    private ScheduledDelegate dueHead;
+    private ScheduledDelegate dueTail;
+    private int dueCount;
+
+    TimerWheel(double currentTime) {
+        tick = (long) Math.floor(currentTime);
+    }
+
+    /**
+     * Schedules a delegate.
+     *
+     * @param delegate The delegate, which must not be scheduled.
+     */
+    synchronized void schedule(ScheduledDelegate delegate) {
+        insert(delegate, Math.max(tick, expiryTick(delegate)));
+        count++;
+    }
+
+    /**
+     * Removes a delegate from the wheel, if it is still scheduled.
+     *
+     * @return Whether the delegate was removed, or false if it was not scheduled
+     *         or has already become due.
+     */
+    synchronized boolean remove(ScheduledDelegate delegate) {
+        if (delegate.wheel != this) {
+            return false;
+        }
+
+        unlink(delegate);
+        count--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to a time, adding every delegate which has become
+     * due to the due list.
+     *
+     * @param currentTime The current time.
+     */
+    synchronized void advance(double currentTime) {
+        if (count == 0) {
+            tick = Math.max(tick, (long) Math.floor(currentTime));
+            return;
+        }
+
+        long target = (long) Math.floor(currentTime);
+
+        // Every delegate in a tick before the target is due, as its time is before the start of the target tick
+        while (tick < target) {
+            long next = nextOccupiedTick();
+            if (next >= target) {
+                moveTo(target);
+                break;
+            }
+
+            moveTo(next);
+            expireSlot(0, (int) (tick & SLOT_MASK), Double.POSITIVE_INFINITY);
+            moveTo(tick + 1);
+        }
+
+        // Delegates in the target tick may be due later within it
+        if (tick == target) {
+            expireSlot(0, (int) (tick & SLOT_MASK), currentTime);
+        }
+    }
+
+    /**
+     * Removes and returns the first due delegate.
+     *
+     * @return The delegate, or null if none are due.
+     */
+    ScheduledDelegate pollDue() {
+        ScheduledDelegate delegate = dueHead;
+        if (delegate == null) {
+            return null;
+        }
+
+        dueHead = delegate.next;
+        if (dueHead == null) {
+            dueTail = null;
+        }
+        delegate.next = null;
+        dueCount--;
+        return delegate;
+    }
+
+    /**
+     * The number of due delegates which have not been polled.
+     */
+    int getDueCount() {
+        return dueCount;
+    }
+
+    private static long expiryTick(ScheduledDelegate delegate) {
+        double time = delegate.executionTime;
+        if (Double.isNaN(time)) {
+            return Long.MIN_VALUE;
+        }
+        return (long) Math.floor(time);
+    }
+
+    /**
+     * Finds the earliest tick at or after the current one at which a delegate
+     * expires or has to cascade.
+     */
+    private long nextOccupiedTick() {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * SLOT_BITS;
+            int index = (int) ((tick >> shift) & SLOT_MASK);
+
+            // Slots above the first level are only occupied after the current index,
+            // as delegates within the current slot are placed on a lower level
+            long ahead = level == 0
+                    ? occupied[0] & (-1L << index)
+                    : index == SLOT_MASK ? 0 : occupied[level] & (-1L << (index + 1));
+
+            if (ahead != 0) {
+                long blockStart = (tick >> (shift + SLOT_BITS)) << (shift + SLOT_BITS);
+                return blockStart | ((long) Long.numberOfTrailingZeros(ahead) << shift);
+            }
+        }
+
+        if (slots[OVERFLOW][0] != null) {
+            int shift = LEVELS * SLOT_BITS;
+            return ((tick >> shift) + 1) << shift;
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Moves the wheel to a tick, cascading the slots which start at it. Any
+     * slots skipped over must be empty.
+     */
+    private void moveTo(long newTick) {
+        tick = newTick;
+
+        if ((tick & SLOT_MASK) != 0) {
+            return;
+        }
+
+        if ((tick & ((1L << (LEVELS * SLOT_BITS)) - 1)) == 0) {
+            cascade(OVERFLOW, 0);
+        }
+
+        // The slots of a level start where the indices of all levels below it are zero
+        int top = 1;
+        while (top < LEVELS - 1 && ((tick >> (top * SLOT_BITS)) & SLOT_MASK) == 0) {
+            top++;
+        }
+
+        // From the top down, so delegates can cascade through multiple levels
+        for (int level = top; level >= 1; level--) {
+            cascade(level, (int) ((tick >> (level * SLOT_BITS)) & SLOT_MASK));
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        ScheduledDelegate delegate = slots[level][slot];
+        while (delegate != null) {
+            ScheduledDelegate next = delegate.next;
+            unlink(delegate);
+            insert(delegate, Math.max(tick, expiryTick(delegate)));
+            delegate = next;
+        }
+    }
+
+    private void expireSlot(int level, int slot, double currentTime) {
+        ScheduledDelegate delegate = slots[level][slot];
+        while (delegate != null) {
+            ScheduledDelegate next = delegate.next;
+
+            // Negated so that a NaN time is due
+            if (!(delegate.executionTime > currentTime)) {
+                unlink(delegate);
+                count--;
+
+                if (dueTail == null) {
+                    dueHead = delegate;
+                } else {
+                    dueTail.next = delegate;
+                }
+                dueTail = delegate;
+                dueCount++;
+            }
+
+            delegate = next;
+        }
+    }
+
+    private void insert(ScheduledDelegate delegate, long expiry) {
+        int level = 0;
+        while (level < LEVELS && (expiry >> ((level + 1) * SLOT_BITS)) != (tick >> ((level + 1) * SLOT_BITS))) {
+            level++;
+        }
+
+        int slot = level == OVERFLOW ? 0 : (int) ((expiry >> (level * SLOT_BITS)) & SLOT_MASK);
+
+        ScheduledDelegate head = slots[level][slot];
+        delegate.wheel = this;
+        delegate.level = level;
+        delegate.slot = slot;
+        delegate.previous = null;
+        delegate.next = head;
+        if (head != null) {
+            head.previous = delegate;
+        }
+        slots[level][slot] = delegate;
+
+        if (level != OVERFLOW) {
+            occupied[level] |= 1L << slot;
+        }
+    }
+
+    private void unlink(ScheduledDelegate delegate) {
+        int level = delegate.level;
+        int slot = delegate.slot;
+
+        if (delegate.previous != null) {
+            delegate.previous.next = delegate.next;
+        } else {
+            slots[level][slot] = delegate.next;
+        }
+        if (delegate.next != null) {
+            delegate.next.previous = delegate.previous;
+        }
+
+        if (slots[level][slot] == null && level != OVERFLOW) {
+            occupied[level] &= ~(1L << slot);
+        }
+
+        delegate.wheel = null;
+        delegate.previous = null;
+        delegate.next = null;
+    }
+}
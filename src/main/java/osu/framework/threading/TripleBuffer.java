@@ -0,0 +1,78 @@
+package osu.framework.threading;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands objects from one producer thread to one consumer thread without
+ * blocking either of them.
+ * <p>
+ * The producer fills the {@link #getWriteBuffer() write buffer} and
+ * {@link #publish() publishes} it; the consumer reads the most recently
+ * published buffer. The producer never waits for the consumer to finish
+ * reading, and the consumer skips any buffers published in the meantime.
+ *
+ * @param <T> The type of buffer.
+ */
+public final class TripleBuffer<T> {
+    private static final int INDEX_MASK = 3;
+
+    /**
+     * Set in {@link #ready} when it holds a buffer which the consumer has not
+     * taken yet.
+     */
+    private static final int FRESH = 4;
+
+    private final Object[] buffers = new Object[3];
+
+    /**
+     * The index of the buffer between the producer and the consumer, along with
+     * the {@link #FRESH} flag.
+     */
+    private final AtomicInteger ready = new AtomicInteger(1);
+
+    // Only accessed by the producer and the consumer respectively
+    private int writeIndex;
+    private int readIndex = 2;
+
+    /**
+     * @param factory Creates each of the three buffers.
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = factory.get();
+        }
+    }
+
+    /**
+     * The buffer to be filled by the producer. Never read by the consumer until
+     * published.
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) buffers[writeIndex];
+    }
+
+    /**
+     * Hands the write buffer over to the consumer, replacing any published
+     * buffer it has not taken yet. Invoked by the producer.
+     */
+    public void publish() {
+        writeIndex = ready.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * The most recently published buffer, which stays owned by the consumer
+     * until the next call. Invoked by the consumer.
+     *
+     * @return The buffer, or an initial one as created by the factory if none
+     *         has been published yet.
+     */
+    @SuppressWarnings("unchecked")
+    public T getReadBuffer() {
+        if ((ready.get() & FRESH) != 0) {
+            readIndex = ready.getAndSet(readIndex) & INDEX_MASK;
+        }
+        return (T) buffers[readIndex];
+    }
+}
@@ -0,0 +1,140 @@
+package osu.framework.timing;
+
+/**
+ * A framed, adjustable clock which follows an adjustable source while it is
+ * running, but keeps running on its own when the source cannot, for example
+ * before the start or after the end of an audio track. It re-couples to the
+ * source once the source can be seeked to the current time and started again.
+ */
+public class DecoupledClock implements IFrameBasedClock, IAdjustableClock {
+    /**
+     * Real time while this clock is running, which it follows while decoupled.
+     * Stopped otherwise, so that time spent stopped or before first starting is
+     * never added.
+     */
+    private final StopwatchClock stopwatch = new StopwatchClock();
+    private final FramedClock realtime = new FramedClock(stopwatch);
+
+    private IAdjustableClock source;
+
+    private boolean running;
+    private double rate = 1;
+
+    private volatile double currentTime;
+    private double lastFrameTime;
+
+    public DecoupledClock(IAdjustableClock source) {
+        changeSource(source);
+    }
+
+    public IAdjustableClock getSource() {
+        return source;
+    }
+
+    public void changeSource(IAdjustableClock source) {
+        if (source == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+        this.source = source;
+        source.setRate(rate);
+        currentTime = lastFrameTime = source.getCurrentTime();
+    }
+
+    /**
+     * Whether the time currently comes from the source, rather than running on
+     * its own.
+     */
+    public boolean isCoupled() {
+        return source.isRunning();
+    }
+
+    @Override
+    public double getCurrentTime() {
+        return currentTime;
+    }
+
+    @Override
+    public double getElapsedFrameTime() {
+        return currentTime - lastFrameTime;
+    }
+
+    @Override
+    public double getRate() {
+        return rate;
+    }
+
+    @Override
+    public void setRate(double rate) {
+        this.rate = rate;
+        source.setRate(rate);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void start() {
+        if (!running) {
+            stopwatch.start();
+            realtime.processFrame();
+        }
+        running = true;
+
+        // The source may not be able to run from the current time yet
+        if (source.seek(currentTime)) {
+            source.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        stopwatch.stop();
+        source.stop();
+    }
+
+    @Override
+    public void reset() {
+        stop();
+        seek(0);
+    }
+
+    @Override
+    public boolean seek(double position) {
+        if (source.seek(position)) {
+            if (running) {
+                source.start();
+            }
+        } else {
+            source.stop();
+        }
+
+        currentTime = position;
+        return true;
+    }
+
+    @Override
+    public void processFrame() {
+        realtime.processFrame();
+
+        lastFrameTime = currentTime;
+
+        if (!running) {
+            return;
+        }
+
+        if (source.isRunning()) {
+            currentTime = source.getCurrentTime();
+            return;
+        }
+
+        // The source has stopped on its own, or can't be at the current time
+        currentTime += realtime.getElapsedFrameTime() * rate;
+
+        if (source.seek(currentTime)) {
+            source.start();
+        }
+    }
+}
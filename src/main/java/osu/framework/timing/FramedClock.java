@@ -0,0 +1,63 @@
+package osu.framework.timing;
+
+/**
+ * A clock which takes the time of a source clock once per processed frame.
+ */
+public class FramedClock implements IFrameBasedClock {
+    private IClock source;
+
+    private volatile double currentTime;
+    private double lastFrameTime;
+
+    /**
+     * Creates a framed clock following real time.
+     */
+    public FramedClock() {
+        this(new StopwatchClock(true));
+    }
+
+    public FramedClock(IClock source) {
+        changeSource(source);
+    }
+
+    public IClock getSource() {
+        return source;
+    }
+
+    /**
+     * Changes the source of this clock. Takes effect on the next processed
+     * frame.
+     */
+    public void changeSource(IClock source) {
+        if (source == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+        this.source = source;
+    }
+
+    @Override
+    public double getCurrentTime() {
+        return currentTime;
+    }
+
+    @Override
+    public double getElapsedFrameTime() {
+        return currentTime - lastFrameTime;
+    }
+
+    @Override
+    public double getRate() {
+        return source.getRate();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return source.isRunning();
+    }
+
+    @Override
+    public void processFrame() {
+        lastFrameTime = currentTime;
+        currentTime = source.getCurrentTime();
+    }
+}
@@ -0,0 +1,25 @@
+package osu.framework.timing;
+
+/**
+ * A clock which can be started, stopped, seeked and have its rate adjusted.
+ */
+public interface IAdjustableClock extends IClock {
+    /**
+     * Stops the clock and seeks to zero.
+     */
+    void reset();
+
+    void start();
+
+    void stop();
+
+    /**
+     * Seeks to a new position.
+     *
+     * @param position The position in milliseconds.
+     * @return Whether the seek succeeded.
+     */
+    boolean seek(double position);
+
+    void setRate(double rate);
+}
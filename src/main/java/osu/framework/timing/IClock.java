@@ -0,0 +1,21 @@
+package osu.framework.timing;
+
+/**
+ * A source of time, in milliseconds.
+ */
+public interface IClock {
+    /**
+     * The current time of this clock, in milliseconds.
+     */
+    double getCurrentTime();
+
+    /**
+     * The rate this clock is running at, relative to real time.
+     */
+    double getRate();
+
+    /**
+     * Whether this clock is currently running.
+     */
+    boolean isRunning();
+}
@@ -0,0 +1,18 @@
+package osu.framework.timing;
+
+/**
+ * A clock whose time only changes when a frame is processed, so that time is
+ * consistent for everything reading it during a frame.
+ */
+public interface IFrameBasedClock extends IClock {
+    /**
+     * The time elapsed between the two most recently processed frames, in
+     * milliseconds.
+     */
+    double getElapsedFrameTime();
+
+    /**
+     * Processes a frame, updating the time of this clock.
+     */
+    void processFrame();
+}
@@ -0,0 +1,91 @@
+package osu.framework.timing;
+
+/**
+ * A framed clock which smooths over a source clock with a low update
+ * precision, such as an audio track position, by interpolating with real
+ * time. If the interpolated time drifts too far from the source, it snaps
+ * back to it.
+ */
+public class InterpolatingFramedClock implements IFrameBasedClock {
+    /**
+     * The default maximum difference in milliseconds between the interpolated
+     * and source times, two 60 Hz frames.
+     */
+    public static final double DEFAULT_ALLOWABLE_ERROR = 1000.0 / 60 * 2;
+
+    /**
+     * Real time, started on the first processed frame so that the time before
+     * it is not interpolated over.
+     */
+    private final StopwatchClock stopwatch = new StopwatchClock();
+    private final FramedClock realtime = new FramedClock(stopwatch);
+
+    private IClock source;
+    private double allowableError = DEFAULT_ALLOWABLE_ERROR;
+
+    private volatile double currentTime;
+    private double lastFrameTime;
+
+    public InterpolatingFramedClock(IClock source) {
+        changeSource(source);
+    }
+
+    public IClock getSource() {
+        return source;
+    }
+
+    public void changeSource(IClock source) {
+        if (source == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+        this.source = source;
+        currentTime = lastFrameTime = source.getCurrentTime();
+    }
+
+    public double getAllowableError() {
+        return allowableError;
+    }
+
+    public void setAllowableError(double milliseconds) {
+        allowableError = milliseconds;
+    }
+
+    @Override
+    public double getCurrentTime() {
+        return currentTime;
+    }
+
+    @Override
+    public double getElapsedFrameTime() {
+        return currentTime - lastFrameTime;
+    }
+
+    @Override
+    public double getRate() {
+        return source.getRate();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return source.isRunning();
+    }
+
+    @Override
+    public void processFrame() {
+        if (!stopwatch.isRunning()) {
+            stopwatch.start();
+        }
+        realtime.processFrame();
+
+        lastFrameTime = currentTime;
+
+        double sourceTime = source.getCurrentTime();
+        if (!source.isRunning()) {
+            currentTime = sourceTime;
+            return;
+        }
+
+        double interpolated = currentTime + realtime.getElapsedFrameTime() * source.getRate();
+        currentTime = Math.abs(interpolated - sourceTime) > allowableError ? sourceTime : interpolated;
+    }
+}
@@ -0,0 +1,56 @@
+package osu.framework.timing;
+
+/**
+ * A clock whose time is set explicitly.
+ */
+public class ManualClock implements IAdjustableClock {
+    private volatile double currentTime;
+    private double rate = 1;
+    private boolean running;
+
+    @Override
+    public double getCurrentTime() {
+        return currentTime;
+    }
+
+    public void setCurrentTime(double currentTime) {
+        this.currentTime = currentTime;
+    }
+
+    @Override
+    public double getRate() {
+        return rate;
+    }
+
+    @Override
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public void reset() {
+        running = false;
+        currentTime = 0;
+    }
+
+    @Override
+    public boolean seek(double position) {
+        currentTime = position;
+        return true;
+    }
+}
@@ -0,0 +1,88 @@
+package osu.framework.timing;
+
+/**
+ * A clock following real time, which can be adjusted.
+ */
+public class StopwatchClock implements IAdjustableClock {
+    private double rate = 1;
+    private boolean running;
+
+    /**
+     * The time of this clock at {@link #referenceNanos}.
+     */
+    private double referenceTime;
+    private long referenceNanos;
+
+    public StopwatchClock() {
+        this(false);
+    }
+
+    public StopwatchClock(boolean start) {
+        if (start) {
+            start();
+        }
+    }
+
+    @Override
+    public double getCurrentTime() {
+        if (!running) {
+            return referenceTime;
+        }
+        return referenceTime + (System.nanoTime() - referenceNanos) / 1_000_000.0 * rate;
+    }
+
+    @Override
+    public double getRate() {
+        return rate;
+    }
+
+    @Override
+    public void setRate(double rate) {
+        rebase();
+        this.rate = rate;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void start() {
+        if (!running) {
+            referenceNanos = System.nanoTime();
+            running = true;
+        }
+    }
+
+    @Override
+    public void stop() {
+        rebase();
+        running = false;
+    }
+
+    @Override
+    public void reset() {
+        stop();
+        referenceTime = 0;
+    }
+
+    @Override
+    public boolean seek(double position) {
+        referenceTime = position;
+        referenceNanos = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * Moves the reference point to now, so that a change in rate or state
+     * applies from now on.
+     */
+    private void rebase() {
+        long now = System.nanoTime();
+        if (running) {
+            referenceTime += (now - referenceNanos) / 1_000_000.0 * rate;
+        }
+        referenceNanos = now;
+    }
+}
@@ -1,23 +1,30 @@
 package samplegame;
 
 import osu.framework.Game;
-import osu.framework.Time;
 import osu.framework.allocation.BackgroundDependencyLoader;
 import osu.framework.graphics.Anchor;
 import osu.framework.graphics.Color4;
 import osu.framework.graphics.shapes.Box;
 import osu.framework.math.Vector2;
 
+import java.util.Arrays;
+
 public class SampleGame extends Game {
     private Box box;
 
+    /**
+     * Whether to print frame statistics and exit shortly after starting, as
+     * enabled by the {@code --statistics} argument.
+     */
+    private boolean exitWithStatistics;
+
     @BackgroundDependencyLoader
     private void load() {
         box = new Box();
-        box.anchor = Anchor.Centre;
-        box.origin = Anchor.Centre;
-        box.size = new Vector2(150, 150);
-        box.colour = Color4.Tomato;
+        box.setAnchor(Anchor.Centre);
+        box.setOrigin(Anchor.Centre);
+        box.setSize(new Vector2(150, 150));
+        box.setColour(Color4.Tomato);
 
         Add(box);
 
@@ -25,20 +32,30 @@ public class SampleGame extends Game {
 
         scheduler.addDelayed(() -> {
             System.out.println("Delayed task executed!");
-            box.colour = osu.framework.graphics.Color4.White;
+            box.setColour(Color4.White);
         }, 500);
+
+        if (exitWithStatistics) {
+            scheduler.addDelayed(() -> {
+                System.out.println(getHost().getUpdateStatistics());
+                System.out.println(getHost().getDrawStatistics());
+                exit();
+            }, 1700);
+        }
     }
 
     @Override
     public void Update() {
         super.Update();
         if (box != null) {
-            // box.rotation += (float) Time.Elapsed / 10;
-            System.out.println("Box Rotation: " + box.rotation);
+            // box.setRotation(box.getRotation() + (float) getClock().getElapsedFrameTime() / 10);
+            System.out.println("Box Rotation: " + box.getRotation());
         }
     }
 
     public static void main(String[] args) {
-        new SampleGame().Run();
+        SampleGame game = new SampleGame();
+        game.exitWithStatistics = Arrays.asList(args).contains("--statistics");
+        game.Run();
     }
 }
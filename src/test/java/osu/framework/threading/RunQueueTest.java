@@ -0,0 +1,100 @@
+package osu.framework.threading;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RunQueueTest {
+    @Test
+    void tasksFromEachProducerRunInOrder() throws InterruptedException {
+        int producers = 4;
+        int tasksPerProducer = 20_000;
+
+        RunQueue queue = new RunQueue();
+        int[] nextExpected = new int[producers];
+        int[] outOfOrder = new int[1];
+        int[] ran = new int[1];
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                for (int i = 0; i < tasksPerProducer; i++) {
+                    int sequence = i;
+                    // Only run by the consumer, so needs no synchronization
+                    queue.add(() -> {
+                        if (nextExpected[producer] != sequence) {
+                            outOfOrder[0]++;
+                        }
+                        nextExpected[producer] = sequence + 1;
+                        ran[0]++;
+                    });
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (ran[0] < producers * tasksPerProducer && System.nanoTime() < deadline) {
+            queue.runPending(Long.MAX_VALUE, false);
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(producers * tasksPerProducer, ran[0]);
+        assertEquals(0, outOfOrder[0]);
+        assertEquals(0, queue.countPending());
+    }
+
+    @Test
+    void tasksAddedWhileRunningAreLeftForNextRun() {
+        RunQueue queue = new RunQueue();
+        List<String> ran = new ArrayList<>();
+
+        queue.add(() -> {
+            ran.add("first");
+            queue.add(() -> ran.add("added"));
+        });
+        queue.add(() -> ran.add("second"));
+
+        assertEquals(0, queue.runPending(Long.MAX_VALUE, false));
+        assertEquals(List.of("first", "second"), ran);
+        assertEquals(1, queue.countPending());
+
+        queue.runPending(Long.MAX_VALUE, false);
+        assertEquals(List.of("first", "second", "added"), ran);
+    }
+
+    @Test
+    void atLeastOneTaskRunsPastDeadline() {
+        RunQueue queue = new RunQueue();
+        List<Integer> ran = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int task = i;
+            queue.add(() -> ran.add(task));
+        }
+
+        // A deadline which has already passed
+        int deferred = queue.runPending(System.nanoTime() - 1, false);
+
+        assertEquals(List.of(0), ran);
+        assertEquals(2, deferred);
+        assertEquals(2, queue.countPending());
+    }
+}
@@ -0,0 +1,132 @@
+package osu.framework.threading;
+
+import osu.framework.timing.ManualClock;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchedulerTest {
+    private final ManualClock clock = new ManualClock();
+    private final Scheduler scheduler = new Scheduler(clock);
+
+    @Test
+    void delayedTasksRunOnceDue() {
+        List<String> ran = new ArrayList<>();
+        scheduler.addDelayed(() -> ran.add("later"), 100);
+        scheduler.addDelayed(() -> ran.add("sooner"), 50);
+
+        clock.setCurrentTime(99);
+        scheduler.update();
+        assertEquals(List.of("sooner"), ran);
+
+        clock.setCurrentTime(100);
+        scheduler.update();
+        assertEquals(List.of("sooner", "later"), ran);
+    }
+
+    @Test
+    void taskCancelledWhileDueDoesNotRun() {
+        List<String> ran = new ArrayList<>();
+        ScheduledDelegate[] second = new ScheduledDelegate[1];
+
+        // Both become due in the same update, the first running before the second
+        scheduler.addDelayed(() -> {
+            ran.add("first");
+            second[0].cancel();
+        }, 10);
+        second[0] = scheduler.addDelayed(() -> ran.add("second"), 11);
+
+        clock.setCurrentTime(20);
+        scheduler.update();
+
+        assertEquals(List.of("first"), ran);
+        assertTrue(second[0].isCancelled());
+    }
+
+    @Test
+    void taskCancelledBeforeDueDoesNotRun() {
+        int[] runs = new int[1];
+        ScheduledDelegate delegate = scheduler.addDelayed(() -> runs[0]++, 10);
+
+        delegate.cancel();
+        clock.setCurrentTime(20);
+        scheduler.update();
+
+        assertEquals(0, runs[0]);
+    }
+
+    @Test
+    void zeroIntervalRepeatRunsOncePerUpdate() {
+        int[] runs = new int[1];
+        scheduler.addRepeating(() -> runs[0]++, 0);
+
+        scheduler.update();
+        assertEquals(1, runs[0]);
+
+        scheduler.update();
+        assertEquals(2, runs[0]);
+
+        clock.setCurrentTime(1000);
+        scheduler.update();
+        assertEquals(3, runs[0]);
+    }
+
+    @Test
+    void repeatingTaskSkipsMissedRuns() {
+        int[] runs = new int[1];
+        scheduler.addRepeating(() -> runs[0]++, 10);
+
+        clock.setCurrentTime(95);
+        scheduler.update();
+        assertEquals(1, runs[0]);
+
+        clock.setCurrentTime(104);
+        scheduler.update();
+        assertEquals(1, runs[0]);
+
+        clock.setCurrentTime(105);
+        scheduler.update();
+        assertEquals(2, runs[0]);
+    }
+
+    @Test
+    void staleGenerationDoesNotCancelReusedPooledDelegate() {
+        int[] runs = new int[1];
+
+        PooledDelegate first = scheduler.obtain(d -> runs[0]++);
+        long staleGeneration = first.getGeneration();
+        scheduler.addPooled(first, 10);
+        first.cancel();
+
+        PooledDelegate reused = scheduler.obtain(d -> runs[0]++);
+        assertSame(first, reused);
+        assertFalse(reused.isCancelled());
+
+        assertFalse(reused.cancel(staleGeneration));
+        assertFalse(reused.isCancelled());
+
+        scheduler.addPooled(reused);
+        scheduler.update();
+        assertEquals(1, runs[0]);
+    }
+
+    @Test
+    void currentGenerationCancelsPooledDelegate() {
+        int[] runs = new int[1];
+
+        PooledDelegate delegate = scheduler.obtain(d -> runs[0]++);
+        scheduler.addPooled(delegate, 10);
+
+        assertTrue(delegate.cancel(delegate.getGeneration()));
+
+        clock.setCurrentTime(20);
+        scheduler.update();
+        assertEquals(0, runs[0]);
+    }
+}
@@ -0,0 +1,157 @@
+package osu.framework.threading;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerWheelTest {
+    /**
+     * The span of the top level, beyond which delegates are kept in overflow.
+     */
+    private static final double WHEEL_SPAN = 1L << 36;
+
+    @Test
+    void delegatesBecomeDueAcrossLevelBoundaries() {
+        // Just before the start of a slot on every level
+        double start = (1L << 30) - 1.5;
+        TimerWheel wheel = new TimerWheel(start);
+
+        double[] times = {
+                start + 0.25,
+                start + 1,
+                1L << 30,
+                (1L << 30) + 63.5,
+                (1L << 30) + 64,
+                (1L << 30) + 4095,
+                (1L << 30) + 4096,
+                (1L << 30) + 262_144.75,
+                (1L << 31) + 17,
+                start + WHEEL_SPAN - 1,
+                start + WHEEL_SPAN + 1,
+                start + 3 * WHEEL_SPAN + 12.5,
+        };
+
+        List<ScheduledDelegate> delegates = new ArrayList<>();
+        for (double time : times) {
+            ScheduledDelegate delegate = delegate(time);
+            delegates.add(delegate);
+            wheel.schedule(delegate);
+        }
+
+        Set<ScheduledDelegate> due = new HashSet<>();
+        double[] sorted = times.clone();
+        Arrays.sort(sorted);
+
+        for (double time : sorted) {
+            // Just before the delegate is due, then exactly when it is
+            for (double current : new double[] { time - 0.125, time }) {
+                wheel.advance(current);
+                drain(wheel, due);
+
+                for (ScheduledDelegate delegate : delegates) {
+                    assertEquals(delegate.executionTime <= current, due.contains(delegate),
+                            "delegate at " + delegate.executionTime + " when advanced to " + current);
+                }
+            }
+        }
+    }
+
+    @Test
+    void delegatesBecomeDueInRandomOrderAndSteps() {
+        Random random = new Random(1234);
+        TimerWheel wheel = new TimerWheel(0);
+
+        List<ScheduledDelegate> delegates = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // Spread over every level and the overflow
+            double time = Math.pow(2, random.nextDouble() * 40);
+            ScheduledDelegate delegate = delegate(time);
+            delegates.add(delegate);
+            wheel.schedule(delegate);
+        }
+
+        Set<ScheduledDelegate> due = new HashSet<>();
+        double current = 0;
+        while (due.size() < delegates.size()) {
+            current += Math.pow(2, random.nextDouble() * 36);
+            wheel.advance(current);
+            drain(wheel, due);
+
+            for (ScheduledDelegate delegate : delegates) {
+                assertEquals(delegate.executionTime <= current, due.contains(delegate),
+                        "delegate at " + delegate.executionTime + " when advanced to " + current);
+            }
+        }
+    }
+
+    @Test
+    void delegatesScheduledInThePastAreDueOnNextAdvance() {
+        TimerWheel wheel = new TimerWheel(1000);
+        ScheduledDelegate delegate = delegate(10);
+        wheel.schedule(delegate);
+
+        wheel.advance(1000);
+
+        assertSame(delegate, wheel.pollDue());
+        assertNull(wheel.pollDue());
+    }
+
+    @Test
+    void removedDelegatesNeverBecomeDue() {
+        TimerWheel wheel = new TimerWheel(0);
+        ScheduledDelegate first = delegate(5000);
+        ScheduledDelegate second = delegate(5000);
+        ScheduledDelegate third = delegate(5000);
+        wheel.schedule(first);
+        wheel.schedule(second);
+        wheel.schedule(third);
+
+        // From the middle of a slot list, then from its head after cascading to a lower level
+        assertTrue(wheel.remove(second));
+        wheel.advance(4096);
+        assertTrue(wheel.remove(third));
+        assertFalse(wheel.remove(third));
+
+        wheel.advance(5000);
+
+        assertSame(first, wheel.pollDue());
+        assertNull(wheel.pollDue());
+    }
+
+    @Test
+    void dueDelegatesCannotBeRemoved() {
+        TimerWheel wheel = new TimerWheel(0);
+        ScheduledDelegate delegate = delegate(10);
+        wheel.schedule(delegate);
+
+        wheel.advance(10);
+
+        assertFalse(wheel.remove(delegate));
+        assertEquals(1, wheel.getDueCount());
+        assertSame(delegate, wheel.pollDue());
+    }
+
+    private static ScheduledDelegate delegate(double time) {
+        return new ScheduledDelegate(null, () -> {
+        }, time, -1);
+    }
+
+    private static void drain(TimerWheel wheel, Set<ScheduledDelegate> due) {
+        ScheduledDelegate delegate;
+        while ((delegate = wheel.pollDue()) != null) {
+            assertTrue(due.add(delegate), "delegate became due twice");
+        }
+        assertEquals(0, wheel.getDueCount());
+    }
+}